@@ -0,0 +1,87 @@
+package com.Captando.demo.reactive.controller;
+
+import com.Captando.demo.controller.ETags;
+import com.Captando.demo.dto.ComandaResponse;
+import com.Captando.demo.dto.ComandaSummaryResponse;
+import com.Captando.demo.model.PaymentMethod;
+import com.Captando.demo.reactive.repository.ReactiveComandaRepository;
+import com.Captando.demo.service.ComandaNotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/comandas")
+@Tag(name = "Comandas", description = "Consulta de comandas (somente leitura, reativo)")
+public class ReactiveComandaController {
+
+    private final ReactiveComandaRepository comandaRepository;
+
+    public ReactiveComandaController(ReactiveComandaRepository comandaRepository) {
+        this.comandaRepository = comandaRepository;
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar comandas")
+    public Mono<Page<ComandaResponse>> getAllComandas(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,desc") String sort) {
+        return comandaRepository.findAll(pageable(page, size, sort));
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Listar resumo das comandas (sem itens)")
+    public Mono<Page<ComandaSummaryResponse>> getSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,desc") String sort) {
+        return comandaRepository.findSummaries(pageable(page, size, sort));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar comanda por id")
+    public Mono<ResponseEntity<ComandaResponse>> getById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Mono<ComandaResponse> comanda = comandaRepository.findWithItemsById(id)
+                .switchIfEmpty(Mono.error(() -> new ComandaNotFoundException(id)));
+        if (ifNoneMatch == null) {
+            return comanda.map(found -> ETags.withVersion(found, found.getVersion()));
+        }
+        return comandaRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> new ComandaNotFoundException(id)))
+                .flatMap(version -> {
+                    String etag = ETags.of(version);
+                    if (ETags.matches(ifNoneMatch, etag)) {
+                        return Mono.just(ETags.<ComandaResponse>notModified(etag));
+                    }
+                    return comanda.map(found -> ETags.withVersion(found, found.getVersion()));
+                });
+    }
+
+    @GetMapping("/payment-methods")
+    @Operation(summary = "Opções de pagamento")
+    public List<String> paymentMethods() {
+        return Stream.of(PaymentMethod.values()).map(Enum::name).toList();
+    }
+
+    private static Pageable pageable(int page, int size, String sort) {
+        String[] sortParts = sort.split(",");
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortParts[1].trim()), sortParts[0].trim()));
+    }
+}
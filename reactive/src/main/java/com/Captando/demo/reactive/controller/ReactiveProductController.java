@@ -0,0 +1,115 @@
+package com.Captando.demo.reactive.controller;
+
+import com.Captando.demo.controller.ETags;
+import com.Captando.demo.dto.CursorPageResponse;
+import com.Captando.demo.dto.ProductResponse;
+import com.Captando.demo.dto.ProductSuggestionResponse;
+import com.Captando.demo.reactive.repository.ReactiveProductRepository;
+import com.Captando.demo.service.ProductNotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping({"/products", "/api/v1/products"})
+@Tag(name = "Produtos", description = "Catálogo de produtos do mercado (somente leitura, reativo)")
+public class ReactiveProductController {
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final ReactiveProductRepository productRepository;
+
+    public ReactiveProductController(ReactiveProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar produtos")
+    public Mono<ResponseEntity<Page<ProductResponse>>> getAllProducts(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (sort == null) {
+            sort = (name != null && !name.isBlank()) || (q != null && !q.isBlank()) ? "relevance,desc" : "id,asc";
+        }
+        String[] sortParts = sort.split(",");
+        Pageable pageable;
+        if (sortParts.length == 2) {
+            String direction = sortParts[1].trim().equalsIgnoreCase("desc") ? "desc" : "asc";
+            pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(direction), sortParts[0].trim()));
+        } else {
+            pageable = PageRequest.of(page, size);
+        }
+        return productRepository.findAll(name, q, category, minPrice, maxPrice, active, pageable)
+                .map(products -> {
+                    String etag = ETags.ofPage("p", products.getTotalElements(), products.getContent(),
+                            ProductResponse::getId, ProductResponse::getVersion);
+                    if (ETags.matches(ifNoneMatch, etag)) {
+                        return ETags.notModified(etag);
+                    }
+                    return ResponseEntity.ok().eTag(etag).body(products);
+                });
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "Listar produtos por cursor (keyset, sem contagem)")
+    public Mono<CursorPageResponse<ProductResponse>> getProductsAfter(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,asc") String sort) {
+        String[] sortParts = sort.split(",");
+        String direction = sortParts.length == 2 && sortParts[1].trim().equalsIgnoreCase("desc") ? "desc" : "asc";
+        Sort.Order order = new Sort.Order(Sort.Direction.fromString(direction), sortParts[0].trim());
+        return productRepository.findAfter(name, q, category, minPrice, maxPrice, active, after, size, order);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Sugerir produtos ativos pelo início do nome (autocompletar)")
+    public Flux<ProductSuggestionResponse> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return productRepository.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar produto por id")
+    public Mono<ResponseEntity<ProductResponse>> getProductById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return productRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(id)))
+                .map(product -> {
+                    String etag = ETags.of(product.getVersion());
+                    if (ETags.matches(ifNoneMatch, etag)) {
+                        return ETags.notModified(etag);
+                    }
+                    return ResponseEntity.ok().eTag(etag).body(product);
+                });
+    }
+}
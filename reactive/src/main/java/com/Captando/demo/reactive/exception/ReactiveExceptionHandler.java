@@ -0,0 +1,43 @@
+package com.Captando.demo.reactive.exception;
+
+import com.Captando.demo.exception.ApiError;
+import com.Captando.demo.service.ComandaNotFoundException;
+import com.Captando.demo.service.ProductNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Mesmo corpo de erro ({@link ApiError}) e mesmos códigos da API principal para
+ * as rotas de leitura.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<ApiError> handleProductNotFound(ProductNotFoundException ex, ServerHttpRequest request) {
+        return error(HttpStatus.NOT_FOUND, "PRODUCT_NOT_FOUND", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(ComandaNotFoundException.class)
+    public ResponseEntity<ApiError> handleComandaNotFound(ComandaNotFoundException ex, ServerHttpRequest request) {
+        return error(HttpStatus.NOT_FOUND, "COMANDA_NOT_FOUND", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiError> handleBusinessError(IllegalArgumentException ex, ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "BAD_REQUEST", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ApiError> handleInput(ServerWebInputException ex, ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "BAD_REQUEST", ex.getReason(), request);
+    }
+
+    private static ResponseEntity<ApiError> error(HttpStatus status, String code, String message, ServerHttpRequest request) {
+        return ResponseEntity.status(status).body(new ApiError(status.value(), code, message, request.getPath().value()));
+    }
+}
@@ -0,0 +1,158 @@
+package com.Captando.demo.reactive.repository;
+
+import com.Captando.demo.dto.ComandaItemResponse;
+import com.Captando.demo.dto.ComandaResponse;
+import com.Captando.demo.dto.ComandaSummaryResponse;
+import com.Captando.demo.model.PaymentMethod;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Leitura de comandas sobre R2DBC. Como na API principal, uma listagem faz uma
+ * consulta para a página e uma só para os itens de todas as comandas dela.
+ */
+@Repository
+public class ReactiveComandaRepository {
+
+    // Enum e tinyint do H2 não têm codec no driver R2DBC; o cast devolve tipos simples.
+    private static final String COLUMNS = "id, customer_name, customer_id, cast(status as varchar) as status, "
+            + "created_at, closed_at, subtotal, discount_percent, discount_amount, total, "
+            + "cast(payment_method as int) as payment_method, version";
+    private static final String ITEM_COLUMNS = "id, comanda_id, product_id, product_name, quantity, unit_price";
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "customerName", "customer_name",
+            "status", "status",
+            "createdAt", "created_at",
+            "closedAt", "closed_at",
+            "subtotal", "subtotal",
+            "total", "total"
+    );
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveComandaRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<ComandaResponse> findWithItemsById(Long id) {
+        Mono<Function<List<ComandaItemResponse>, ComandaResponse>> comanda = databaseClient
+                .sql("select " + COLUMNS + " from comandas where id = :id")
+                .bind("id", id)
+                .map(ReactiveComandaRepository::readComanda)
+                .one();
+        Mono<List<ComandaItemResponse>> items = databaseClient.sql("select " + ITEM_COLUMNS
+                        + " from comanda_item where comanda_id = :id order by id")
+                .bind("id", id)
+                .map(ReactiveComandaRepository::toItem)
+                .all()
+                .collectList();
+        return Mono.zip(comanda, items).map(found -> found.getT1().apply(found.getT2()));
+    }
+
+    public Mono<Long> findVersionById(Long id) {
+        return databaseClient.sql("select version from comandas where id = :id")
+                .bind("id", id)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    public Mono<Page<ComandaResponse>> findAll(Pageable pageable) {
+        Mono<List<Map.Entry<Long, Function<List<ComandaItemResponse>, ComandaResponse>>>> comandas = databaseClient
+                .sql("select " + COLUMNS + " from comandas"
+                        + SqlOrder.of(pageable.getSort(), SORT_COLUMNS) + " limit :limit offset :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(row -> Map.entry(row.get("id", Long.class), readComanda(row)))
+                .all()
+                .collectList();
+        Mono<List<ComandaResponse>> content = comandas.flatMap(rows -> {
+            if (rows.isEmpty()) {
+                return Mono.just(List.<ComandaResponse>of());
+            }
+            List<Long> ids = rows.stream().map(Map.Entry::getKey).toList();
+            return databaseClient.sql("select " + ITEM_COLUMNS
+                            + " from comanda_item where comanda_id in (:ids) order by id")
+                    .bind("ids", ids)
+                    .map(row -> Map.entry(row.get("comanda_id", Long.class), toItem(row)))
+                    .all()
+                    .collectList()
+                    .map(items -> {
+                        Map<Long, List<ComandaItemResponse>> byComanda = items.stream().collect(Collectors.groupingBy(
+                                Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+                        return rows.stream()
+                                .map(row -> row.getValue().apply(byComanda.getOrDefault(row.getKey(), List.of())))
+                                .toList();
+                    });
+        });
+        return Mono.zip(content, count()).map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    public Mono<Page<ComandaSummaryResponse>> findSummaries(Pageable pageable) {
+        Mono<List<ComandaSummaryResponse>> content = databaseClient.sql("select id, customer_name, customer_id, "
+                        + "cast(status as varchar) as status, total from comandas"
+                        + SqlOrder.of(pageable.getSort(), SORT_COLUMNS) + " limit :limit offset :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(row -> new ComandaSummaryResponse(
+                        row.get("id", Long.class),
+                        row.get("customer_name", String.class),
+                        row.get("customer_id", Long.class),
+                        row.get("status", String.class),
+                        row.get("total", Double.class)))
+                .all()
+                .collectList();
+        return Mono.zip(content, count()).map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    private Mono<Long> count() {
+        return databaseClient.sql("select count(*) from comandas")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static ComandaItemResponse toItem(Readable row) {
+        Integer quantity = row.get("quantity", Integer.class);
+        Double unitPrice = row.get("unit_price", Double.class);
+        return new ComandaItemResponse(
+                row.get("id", Long.class),
+                row.get("product_id", Long.class),
+                row.get("product_name", String.class),
+                quantity,
+                unitPrice,
+                quantity == null || unitPrice == null ? 0.0 : quantity * unitPrice
+        );
+    }
+
+    /**
+     * Lê as colunas enquanto a linha é válida (o driver a reaproveita) e devolve a
+     * montagem da resposta para quando os itens chegarem.
+     */
+    private static Function<List<ComandaItemResponse>, ComandaResponse> readComanda(Readable row) {
+        Long id = row.get("id", Long.class);
+        String customerName = row.get("customer_name", String.class);
+        Long customerId = row.get("customer_id", Long.class);
+        String status = row.get("status", String.class);
+        LocalDateTime createdAt = row.get("created_at", LocalDateTime.class);
+        LocalDateTime closedAt = row.get("closed_at", LocalDateTime.class);
+        Double subtotal = row.get("subtotal", Double.class);
+        Double discountPercent = row.get("discount_percent", Double.class);
+        Double discountAmount = row.get("discount_amount", Double.class);
+        Double total = row.get("total", Double.class);
+        Integer paymentMethod = row.get("payment_method", Integer.class);
+        Long version = row.get("version", Long.class);
+        return items -> new ComandaResponse(id, customerName, customerId, status, createdAt, closedAt, subtotal,
+                discountPercent, discountAmount, total,
+                paymentMethod == null ? null : PaymentMethod.values()[paymentMethod].name(), items, version);
+    }
+}
@@ -0,0 +1,271 @@
+package com.Captando.demo.reactive.repository;
+
+import com.Captando.demo.dto.CursorPageResponse;
+import com.Captando.demo.dto.ProductResponse;
+import com.Captando.demo.dto.ProductSuggestionResponse;
+import io.r2dbc.spi.Readable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de catálogo em SQL sobre R2DBC, com os mesmos filtros da
+ * {@code Specification} da API principal. A busca por nome e texto é um
+ * {@code LIKE} no banco (o índice de trigramas em memória existe só na API
+ * principal), com a relevância calculada em SQL pelos mesmos pesos do índice.
+ */
+@Repository
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS = "id, name, description, price, category, stock_quantity, active, version";
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("id", "name", "price");
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "price", "price",
+            "category", "category",
+            "stockQuantity", "stock_quantity",
+            "active", "active"
+    );
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveProductRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<ProductResponse> findById(Long id) {
+        return databaseClient.sql("select " + COLUMNS + " from product where id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toResponse)
+                .one();
+    }
+
+    public Mono<Page<ProductResponse>> findAll(String name, String text, String category, Double minPrice,
+                                               Double maxPrice, Boolean active, Pageable pageable) {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            return Mono.error(new IllegalArgumentException("minPrice não pode ser maior que maxPrice"));
+        }
+        Filter filter = new Filter(name, text, category, minPrice, maxPrice, active);
+        Map<String, String> sortColumns = SORT_COLUMNS;
+        String columns = COLUMNS;
+        if (filter.relevance() != null) {
+            sortColumns = new HashMap<>(SORT_COLUMNS);
+            sortColumns.put("relevance", "relevance");
+            columns += ", " + filter.relevance() + " as relevance";
+        }
+        String orderBy = SqlOrder.of(pageable.getSort(), sortColumns);
+
+        Mono<List<ProductResponse>> content = filter.bindWithRelevanceTo(databaseClient.sql("select " + columns
+                        + " from product" + filter.where() + orderBy + " limit :limit offset :offset"))
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveProductRepository::toResponse)
+                .all()
+                .collectList();
+        Mono<Long> total = filter.bindTo(databaseClient.sql("select count(*) from product" + filter.where()))
+                .map(row -> row.get(0, Long.class))
+                .one();
+        return Mono.zip(content, total).map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    /**
+     * Paginação por keyset (sem contagem) ordenada por {@code id}, {@code name} ou
+     * {@code price}, com o id como desempate no mesmo sentido.
+     */
+    public Mono<CursorPageResponse<ProductResponse>> findAfter(String name, String text, String category,
+                                                               Double minPrice, Double maxPrice, Boolean active,
+                                                               String after, int size, Sort.Order order) {
+        int limit;
+        Map<String, String> position;
+        try {
+            if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+                throw new IllegalArgumentException("minPrice não pode ser maior que maxPrice");
+            }
+            limit = SqlCursor.size(size);
+            SqlCursor.checkSortable(order, CURSOR_SORT_PROPERTIES);
+            position = SqlCursor.decode(after, order);
+        } catch (IllegalArgumentException ex) {
+            return Mono.error(ex);
+        }
+
+        Filter filter = new Filter(name, text, category, minPrice, maxPrice, active);
+        String property = order.getProperty();
+        String direction = order.isDescending() ? " desc" : " asc";
+        String orderBy = " order by " + ("id".equals(property) ? "" : SORT_COLUMNS.get(property) + direction + ", ")
+                + "id" + direction;
+        if (!position.isEmpty()) {
+            filter.after(property, position, order.isDescending() ? "<" : ">");
+        }
+
+        return filter.bindTo(databaseClient.sql("select " + COLUMNS + " from product" + filter.where() + orderBy
+                        + " limit :limit"))
+                .bind("limit", limit + 1)
+                .map(ReactiveProductRepository::toResponse)
+                .all()
+                .collectList()
+                .map(rows -> {
+                    boolean hasNext = rows.size() > limit;
+                    List<ProductResponse> content = hasNext ? rows.subList(0, limit) : rows;
+                    String nextCursor = hasNext
+                            ? SqlCursor.encode(keys(property, content.get(content.size() - 1)))
+                            : null;
+                    return new CursorPageResponse<>(content, content.size(), hasNext, nextCursor);
+                });
+    }
+
+    /**
+     * Nomes ativos que começam com {@code prefix}, depois os que têm uma palavra
+     * seguinte começando com ele; cada grupo em ordem alfabética.
+     */
+    public Flux<ProductSuggestionResponse> suggest(String prefix, int limit) {
+        if (!StringUtils.hasText(prefix)) {
+            return Flux.empty();
+        }
+        String normalized = prefix.trim().toLowerCase();
+        return databaseClient.sql("select id, name, category, price from product "
+                        + "where active = true and (lower(name) like :prefix or lower(name) like :word) "
+                        + "order by case when lower(name) like :prefix then 0 else 1 end, lower(name), id "
+                        + "limit :limit")
+                .bind("prefix", normalized + "%")
+                .bind("word", "% " + normalized + "%")
+                .bind("limit", limit)
+                .map(row -> new ProductSuggestionResponse(row.get("id", Long.class), row.get("name", String.class),
+                        row.get("category", String.class), row.get("price", Double.class)))
+                .all();
+    }
+
+    private static Map<String, Object> keys(String property, ProductResponse last) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        switch (property) {
+            case "name" -> keys.put("name", last.getName());
+            case "price" -> keys.put("price", last.getPrice());
+            default -> {
+            }
+        }
+        keys.put("id", last.getId());
+        return keys;
+    }
+
+    private static ProductResponse toResponse(Readable row) {
+        return new ProductResponse(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("price", Double.class),
+                row.get("category", String.class),
+                row.get("stock_quantity", Integer.class),
+                Boolean.TRUE.equals(row.get("active", Boolean.class)),
+                row.get("version", Long.class)
+        );
+    }
+
+    private static final class Filter {
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+        private final StringBuilder where = new StringBuilder();
+        private final Map<String, Object> relevanceParameters = new LinkedHashMap<>();
+        private final StringBuilder relevance = new StringBuilder();
+
+        private Filter(String name, String text, String category, Double minPrice, Double maxPrice, Boolean active) {
+            if (StringUtils.hasText(name)) {
+                String term = name.trim().toLowerCase();
+                add("lower(name) like :name", "name", "%" + term + "%");
+                score("name", term, false);
+            }
+            if (StringUtils.hasText(text)) {
+                String[] terms = text.trim().toLowerCase().split("\\s+");
+                for (int i = 0; i < terms.length; i++) {
+                    String parameter = "term" + i;
+                    add("(lower(name) like :" + parameter + " or lower(category) like :" + parameter
+                            + " or lower(description) like :" + parameter + ")", parameter, "%" + terms[i] + "%");
+                    score(parameter, terms[i], true);
+                }
+            }
+            if (StringUtils.hasText(category)) {
+                add("lower(category) = :category", "category", category.trim().toLowerCase());
+            }
+            if (minPrice != null) {
+                add("price >= :minPrice", "minPrice", minPrice);
+            }
+            if (maxPrice != null) {
+                add("price <= :maxPrice", "maxPrice", maxPrice);
+            }
+            if (active != null) {
+                add("active = :active", "active", active);
+            }
+        }
+
+        private void add(String condition, String parameter, Object value) {
+            where.append(where.length() == 0 ? " where " : " and ").append(condition);
+            parameters.put(parameter, value);
+        }
+
+        /**
+         * Mesmos pesos do índice da API principal: nome igual 16, começa com o termo
+         * 10, palavra seguinte começa com ele 6, contém 4; nos termos de {@code q},
+         * categoria 2 e descrição 1.
+         */
+        private void score(String parameter, String term, boolean text) {
+            relevanceParameters.put(parameter + "Exact", term);
+            relevanceParameters.put(parameter + "Prefix", term + "%");
+            relevanceParameters.put(parameter + "Word", "% " + term + "%");
+            relevance.append(relevance.length() == 0 ? "" : " + ")
+                    .append("(case when lower(name) = :").append(parameter).append("Exact then 16")
+                    .append(" when lower(name) like :").append(parameter).append("Prefix then 10")
+                    .append(" when lower(name) like :").append(parameter).append("Word then 6")
+                    .append(" when lower(name) like :").append(parameter).append(" then 4")
+                    .append(text ? " when lower(category) like :" + parameter + " then 2 else 1" : " else 0")
+                    .append(" end)");
+        }
+
+        private void after(String property, Map<String, String> position, String operator) {
+            Long id = SqlCursor.parseLong(position.get("id"));
+            if ("id".equals(property)) {
+                add("id " + operator + " :afterId", "afterId", id);
+                return;
+            }
+            Object value = "price".equals(property)
+                    ? SqlCursor.parseDouble(position.get(property))
+                    : position.get(property);
+            String column = SORT_COLUMNS.get(property);
+            add("(" + column + " " + operator + " :afterValue or (" + column + " = :afterValue and id " + operator
+                    + " :afterId))", "afterValue", value);
+            parameters.put("afterId", id);
+        }
+
+        private String relevance() {
+            return relevance.length() == 0 ? null : relevance.toString();
+        }
+
+        private String where() {
+            return where.toString();
+        }
+
+        private DatabaseClient.GenericExecuteSpec bindTo(DatabaseClient.GenericExecuteSpec spec) {
+            return bind(spec, parameters);
+        }
+
+        private DatabaseClient.GenericExecuteSpec bindWithRelevanceTo(DatabaseClient.GenericExecuteSpec spec) {
+            return bind(bind(spec, parameters), relevanceParameters);
+        }
+
+        private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+                                                              Map<String, Object> values) {
+            for (Map.Entry<String, Object> parameter : values.entrySet()) {
+                spec = spec.bind(parameter.getKey(), parameter.getValue());
+            }
+            return spec;
+        }
+    }
+}
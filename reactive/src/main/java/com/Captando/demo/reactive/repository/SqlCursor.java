@@ -0,0 +1,98 @@
+package com.Captando.demo.reactive.repository;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cursor de keyset no mesmo formato do {@code KeysetCursor} da API principal
+ * (base64 de {@code propriedade=valor&id=valor}), para que um cursor emitido por
+ * uma API continue valendo na outra.
+ */
+final class SqlCursor {
+
+    static final int MAX_SIZE = 500;
+
+    private SqlCursor() {
+    }
+
+    static int size(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size deve estar entre 1 e " + MAX_SIZE);
+        }
+        return size;
+    }
+
+    static void checkSortable(Sort.Order order, Set<String> allowedProperties) {
+        if (!allowedProperties.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Ordenação por cursor não suportada para: " + order.getProperty()
+                    + ". Use um de: " + allowedProperties);
+        }
+    }
+
+    /**
+     * Valores do último registro entregue, por propriedade; vazio na primeira página.
+     */
+    static Map<String, String> decode(String cursor, Sort.Order order) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        if (!StringUtils.hasText(cursor)) {
+            return keys;
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        for (String pair : decoded.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            keys.put(pair.substring(0, separator),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+
+        Set<String> expected = "id".equals(order.getProperty()) ? Set.of("id") : Set.of(order.getProperty(), "id");
+        if (!keys.keySet().equals(expected)) {
+            throw new IllegalArgumentException("Cursor não corresponde à ordenação informada");
+        }
+        return keys;
+    }
+
+    static String encode(Map<String, Object> keys) {
+        StringBuilder builder = new StringBuilder();
+        keys.forEach((property, value) -> {
+            if (!builder.isEmpty()) {
+                builder.append('&');
+            }
+            builder.append(property).append('=')
+                    .append(URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8));
+        });
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long parseLong(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    static Double parseDouble(String value) {
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
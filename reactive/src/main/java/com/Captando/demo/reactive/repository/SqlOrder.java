@@ -0,0 +1,42 @@
+package com.Captando.demo.reactive.repository;
+
+import java.util.Map;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Traduz o {@link Sort} da requisição para {@code order by}, aceitando só as
+ * propriedades mapeadas; {@code id} entra por último para a paginação ser estável.
+ * {@code relevance} usa a coluna mapeada para ela (sempre da maior para a menor, como na
+ * API principal) e, sem busca por texto, fica só o desempate por {@code id}.
+ */
+final class SqlOrder {
+
+    private SqlOrder() {
+    }
+
+    static String of(Sort sort, Map<String, String> columns) {
+        StringBuilder orderBy = new StringBuilder(" order by ");
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            if (order.getProperty().equals("relevance")) {
+                if (columns.containsKey("relevance")) {
+                    orderBy.append(columns.get("relevance")).append(" desc, ");
+                }
+                continue;
+            }
+            String column = columns.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Ordenação não suportada: " + order.getProperty());
+            }
+            if (hasId && column.equals("id")) {
+                continue;
+            }
+            orderBy.append(column).append(order.isDescending() ? " desc" : " asc").append(", ");
+            hasId |= column.equals("id");
+        }
+        if (!hasId) {
+            orderBy.append("id, ");
+        }
+        return orderBy.substring(0, orderBy.length() - 2);
+    }
+}
@@ -0,0 +1,105 @@
+package com.Captando.demo.repository;
+
+import com.Captando.demo.DemoApplication;
+import com.Captando.demo.model.Comanda;
+import com.Captando.demo.model.ComandaItem;
+import com.Captando.demo.model.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Inserção em lote pela camada JPA com o contexto Spring completo (sem web).
+ * Os resultados são linhas por segundo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ComandaRepository comandaRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private List<Product> catalog;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bulkinsert",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        productRepository = context.getBean(ProductRepository.class);
+        comandaRepository = context.getBean(ComandaRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        catalog = productRepository.saveAll(newProducts(50));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInsertedRows() {
+        jdbcTemplate.update("delete from comanda_item");
+        jdbcTemplate.update("delete from comandas");
+        jdbcTemplate.update("delete from product where id > ?", catalog.get(catalog.size() - 1).getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertProducts() {
+        transactionTemplate.executeWithoutResult(status -> productRepository.saveAll(newProducts(ROWS)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertComandaItems() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Comanda comanda = new Comanda("Benchmark");
+            for (int i = 0; i < ROWS; i++) {
+                Product product = catalog.get(i % catalog.size());
+                comanda.addItem(new ComandaItem(product, product.getName(), 1, product.getPrice()));
+            }
+            comandaRepository.save(comanda);
+        });
+    }
+
+    private static List<Product> newProducts(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product(null, "Produto " + i, "Carga em lote", 1.0 + i % 100);
+            product.setCategory("Lote");
+            product.setStockQuantity(100);
+            products.add(product);
+        }
+        return products;
+    }
+}
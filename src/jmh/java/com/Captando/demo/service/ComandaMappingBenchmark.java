@@ -0,0 +1,69 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.ComandaResponse;
+import com.Captando.demo.model.Comanda;
+import com.Captando.demo.model.ComandaItem;
+import com.Captando.demo.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComandaMappingBenchmark {
+
+    @Param({"1", "50", "500"})
+    int items;
+
+    private Comanda comanda;
+    private ComandaResponse response;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        comanda = new Comanda("Mesa 12");
+        for (int i = 0; i < items; i++) {
+            Product product = new Product((long) i, "Produto " + i, "Descrição " + i, 4.5 + i);
+            comanda.addItem(new ComandaItem(product, product.getName(), 1 + (i % 3), product.getPrice()));
+        }
+        comanda.setDiscountPercent(10.0);
+        response = ComandaService.toResponse(comanda);
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+    }
+
+    @Benchmark
+    public ComandaResponse toResponse() {
+        return ComandaService.toResponse(comanda);
+    }
+
+    @Benchmark
+    public double total() {
+        return comanda.getTotal();
+    }
+
+    @Benchmark
+    public boolean reconcileTotals() {
+        return comanda.reconcileTotals();
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,49 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.ProductResponse;
+import com.Captando.demo.model.Product;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        product = new Product(42L, "Arroz Branco", "Arroz tipo 1 pacote 5kg", 29.9);
+        product.setCategory("Mercearia");
+        product.setStockQuantity(30);
+    }
+
+    @Benchmark
+    public Specification<Product> buildFullSpecification() {
+        return ProductServiceImpl.buildSpecification("arroz", "Mercearia", 10.0, 50.0, Boolean.TRUE);
+    }
+
+    @Benchmark
+    public Specification<Product> buildEmptySpecification() {
+        return ProductServiceImpl.buildSpecification(null, null, null, null, null);
+    }
+
+    @Benchmark
+    public ProductResponse toResponse() {
+        return ProductService.toResponse(product);
+    }
+}
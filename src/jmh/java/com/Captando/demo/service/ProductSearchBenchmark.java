@@ -0,0 +1,73 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.ProductSuggestionResponse;
+import com.Captando.demo.model.Product;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductSearchBenchmark {
+
+    private static final String[] NAMES = {"Arroz", "Feijão", "Café", "Açúcar", "Leite", "Cerveja", "Sabão", "Pão"};
+    private static final String[] BRANDS = {"Tio João", "Camil", "Pilão", "União", "Italac", "Brahma", "Omo", "Pullman"};
+    private static final String[] CATEGORIES = {"Mercearia", "Bebidas", "Limpeza", "Padaria"};
+
+    @Param({"500000"})
+    public int products;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new ProductSearchIndex(null);
+        for (int i = 1; i <= products; i++) {
+            Product product = new Product((long) i, NAMES[i % NAMES.length] + " " + BRANDS[(i / 8) % BRANDS.length] + " " + i,
+                    "Produto de teste número " + i, 1.0 + i % 100);
+            product.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            product.setActive(i % 10 != 0);
+            index.indexAfterCommit(product);
+        }
+    }
+
+    @Benchmark
+    public List<Long> selectiveName() {
+        return index.search("cafe", "12345", null, null, null, null, Sort.unsorted());
+    }
+
+    @Benchmark
+    public List<Long> nameWithCategoryAndPrice() {
+        return index.search("arroz camil", "777", "Mercearia", 10.0, 90.0, Boolean.TRUE, Sort.unsorted());
+    }
+
+    @Benchmark
+    public List<Long> broadTextByPrice() {
+        return index.search(null, "cerveja brahma 99", null, null, null, null, Sort.by("price"));
+    }
+
+    @Benchmark
+    public List<ProductSuggestionResponse> suggestShortPrefix() {
+        return index.suggest("ca", 10);
+    }
+
+    @Benchmark
+    public List<ProductSuggestionResponse> suggestWordPrefix() {
+        return index.suggest("pilao 4", 10);
+    }
+}
@@ -4,9 +4,11 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,10 +17,10 @@ import java.util.Scanner;
 public class MarketConsoleApp {
 
     private static final String DEFAULT_BASE_URL = "http://localhost:8080";
-    private static final String PRODUCT_PATH = "/products";
-    private static final String CLIENT_PATH = "/clients";
-    private static final String COMANDA_PATH = "/comandas";
-    private static final String CART_PATH = "/carts";
+    static final String PRODUCT_PATH = "/products";
+    static final String CLIENT_PATH = "/clients";
+    static final String COMANDA_PATH = "/comandas";
+    static final String CART_PATH = "/carts";
 
     private static final String APP_LOGO = """
      __  __      _            ____                  _     
@@ -40,10 +42,18 @@ public class MarketConsoleApp {
         this.baseUrl = System.getProperty("api.base.url", DEFAULT_BASE_URL);
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 0 && "--load".equals(args[0])) {
+            new MarketLoadTest(new MarketConsoleApp()).run();
+            return;
+        }
         new MarketConsoleApp().run();
     }
 
+    String baseUrl() {
+        return baseUrl;
+    }
+
     private void run() {
         System.out.println(APP_LOGO);
         while (true) {
@@ -78,6 +88,7 @@ public class MarketConsoleApp {
                     case "25" -> removeItemFromCart();
                     case "26" -> checkoutCart();
                     case "27" -> showPaymentMethods();
+                    case "28" -> suggestProducts();
                     case "0" -> {
                         System.out.println("Encerrando app...");
                         return;
@@ -121,6 +132,7 @@ public class MarketConsoleApp {
 25) Carrinho: remover item
 26) Carrinho: checkout
 27) Formas de pagamento aceitas
+28) Produtos: sugerir pelo início do nome
 0) Sair
         """);
     }
@@ -150,6 +162,27 @@ public class MarketConsoleApp {
                 root.path("totalPages").asInt(0));
     }
 
+    private void suggestProducts() throws IOException, InterruptedException {
+        String prefix = readLine("Início do nome: ");
+        HttpResponse<String> response = sendRequest("GET",
+                baseUrl + PRODUCT_PATH + "/suggest?limit=10&prefix=" + URLEncoder.encode(prefix, StandardCharsets.UTF_8), null);
+        if (!isSuccess(response.statusCode())) {
+            printApiError(response);
+            return;
+        }
+        JsonNode suggestions = mapper.readTree(response.body());
+        if (suggestions.isEmpty()) {
+            System.out.println("Nenhum produto encontrado.");
+            return;
+        }
+        for (JsonNode suggestion : suggestions) {
+            System.out.printf("#%d %s | R$ %.2f%n",
+                    suggestion.path("id").asLong(),
+                    suggestion.path("name").asText(),
+                    suggestion.path("price").asDouble());
+        }
+    }
+
     private void getProductById() throws IOException, InterruptedException {
         Long id = readLong("ID do produto: ");
         HttpResponse<String> response = sendRequest("GET", endpoint(PRODUCT_PATH, id), null);
@@ -527,7 +560,7 @@ public class MarketConsoleApp {
         return new AddComandaItemRequest(productId, quantity);
     }
 
-    private HttpResponse<String> sendRequest(String method, String url, Object body) throws IOException, InterruptedException {
+    HttpResponse<String> sendRequest(String method, String url, Object body) throws IOException, InterruptedException {
         HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
                 .timeout(Duration.ofSeconds(8))
                 .header("Content-Type", "application/json");
@@ -545,7 +578,7 @@ public class MarketConsoleApp {
         return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
     }
 
-    private String endpoint(String path, Long... ids) {
+    String endpoint(String path, Long... ids) {
         String endpoint = path;
         if (ids.length > 0) {
             endpoint += "/" + ids[0];
@@ -556,7 +589,7 @@ public class MarketConsoleApp {
         return baseUrl + endpoint;
     }
 
-    private boolean isSuccess(int status) {
+    boolean isSuccess(int status) {
         return status >= 200 && status < 300;
     }
 
@@ -0,0 +1,274 @@
+package com.Captando.demo.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gerador de carga sem interface, reaproveitando {@code sendRequest}/{@code endpoint}
+ * do {@link MarketConsoleApp}. Configuração por system properties:
+ * {@code load.users}, {@code load.duration}, {@code load.mix} e {@code load.seed-products}.
+ * Só com {@code browse} e {@code lookup} no mix a carga é somente leitura e roda
+ * também contra o módulo {@code reactive}.
+ */
+public class MarketLoadTest {
+
+    private static final String[] PAYMENT_METHODS = {"CASH", "PIX", "DEBIT_CARD", "CREDIT_CARD"};
+
+    private final MarketConsoleApp api;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final int users;
+    private final Duration duration;
+    private final Map<String, Integer> mix;
+    private final int seedProducts;
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private List<Long> productIds = List.of();
+    private List<Long> comandaIds = List.of();
+
+    public MarketLoadTest(MarketConsoleApp api) {
+        this.api = api;
+        this.users = Integer.getInteger("load.users", 10);
+        this.duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+        this.mix = parseMix(System.getProperty("load.mix", "browse=50,open=10,add=30,checkout=10"));
+        this.seedProducts = Integer.getInteger("load.seed-products", 50);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        new MarketLoadTest(new MarketConsoleApp()).run();
+    }
+
+    public void run() throws InterruptedException {
+        System.out.printf("Carga em %s: %d usuários por %s, mix %s%n", api.baseUrl(), users, duration, mix);
+        prepareProducts();
+        if (mix.containsKey("lookup")) {
+            prepareComandas();
+        }
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(users);
+        long started = System.nanoTime();
+        for (int i = 0; i < users; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    new VirtualUser().runUntil(deadline);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-user-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+        report(Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void prepareProducts() {
+        try {
+            HttpResponse<String> response = api.sendRequest("GET",
+                    api.baseUrl() + MarketConsoleApp.PRODUCT_PATH + "?page=0&size=500&sort=id,asc&active=true", null);
+            List<Long> ids = new ArrayList<>();
+            for (JsonNode product : mapper.readTree(response.body()).path("content")) {
+                ids.add(product.path("id").asLong());
+            }
+            for (int i = ids.size(); i < seedProducts; i++) {
+                Map<String, Object> product = new LinkedHashMap<>();
+                product.put("name", "Produto carga " + i);
+                product.put("description", "Gerado pelo teste de carga");
+                product.put("price", 2.0 + i % 40);
+                product.put("category", "Carga");
+                product.put("stockQuantity", 1_000_000);
+                product.put("active", true);
+                HttpResponse<String> created = api.sendRequest("POST", api.baseUrl() + MarketConsoleApp.PRODUCT_PATH, product);
+                ids.add(mapper.readTree(created.body()).path("id").asLong());
+            }
+            productIds = List.copyOf(ids);
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException("Não foi possível preparar os produtos: " + e.getMessage(), e);
+        }
+    }
+
+    private void prepareComandas() {
+        try {
+            HttpResponse<String> response = api.sendRequest("GET",
+                    api.baseUrl() + MarketConsoleApp.COMANDA_PATH + "/summary?page=0&size=500&sort=id,desc", null);
+            List<Long> ids = new ArrayList<>();
+            for (JsonNode comanda : mapper.readTree(response.body()).path("content")) {
+                ids.add(comanda.path("id").asLong());
+            }
+            if (ids.isEmpty()) {
+                throw new IllegalStateException("Cenário lookup precisa de comandas cadastradas");
+            }
+            comandaIds = List.copyOf(ids);
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException("Não foi possível carregar as comandas: " + e.getMessage(), e);
+        }
+    }
+
+    private void report(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        long total = 0;
+        System.out.printf("%n%-38s %8s %7s %9s %9s %9s %9s%n",
+                "endpoint", "reqs", "erros", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        for (Map.Entry<String, LatencyRecorder> entry : new TreeMap<>(recorders).entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            long[] sorted = recorder.sorted();
+            total += sorted.length;
+            System.out.printf("%-38s %8d %7d %9.1f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), sorted.length, recorder.errors(), sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+        }
+        System.out.printf("%nTotal: %d requisições em %.1fs (%.1f req/s)%n", total, seconds, total / seconds);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> parsed = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            parsed.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return parsed;
+    }
+
+    private class VirtualUser {
+        private final ThreadLocalRandom random = ThreadLocalRandom.current();
+        private final List<Long> openComandas = new ArrayList<>();
+        private final int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        void runUntil(long deadline) {
+            while (System.nanoTime() < deadline) {
+                try {
+                    switch (nextScenario()) {
+                        case "browse" -> browse();
+                        case "lookup" -> lookup();
+                        case "open" -> open();
+                        case "add" -> add();
+                        case "checkout" -> checkout();
+                        default -> throw new IllegalArgumentException("Cenário desconhecido no load.mix");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException e) {
+                    recorder("IO").recordError();
+                }
+            }
+        }
+
+        private String nextScenario() {
+            int roll = random.nextInt(totalWeight);
+            for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+                roll -= entry.getValue();
+                if (roll < 0) {
+                    return entry.getKey();
+                }
+            }
+            return "browse";
+        }
+
+        private void browse() throws IOException, InterruptedException {
+            call("GET /products", "GET",
+                    api.baseUrl() + MarketConsoleApp.PRODUCT_PATH + "?page=" + random.nextInt(5) + "&size=20&sort=id,asc", null);
+            call("GET /products/{id}", "GET", api.endpoint(MarketConsoleApp.PRODUCT_PATH, randomProduct()), null);
+        }
+
+        private void lookup() throws IOException, InterruptedException {
+            call("GET /comandas/{id}", "GET",
+                    api.endpoint(MarketConsoleApp.COMANDA_PATH, comandaIds.get(random.nextInt(comandaIds.size()))), null);
+        }
+
+        private void open() throws IOException, InterruptedException {
+            HttpResponse<String> response = call("POST /comandas", "POST",
+                    api.baseUrl() + MarketConsoleApp.COMANDA_PATH,
+                    Map.of("customerName", "Carga " + Thread.currentThread().getName()));
+            if (api.isSuccess(response.statusCode())) {
+                openComandas.add(mapper.readTree(response.body()).path("id").asLong());
+            }
+        }
+
+        private void add() throws IOException, InterruptedException {
+            if (openComandas.isEmpty()) {
+                open();
+                return;
+            }
+            Long comandaId = openComandas.get(random.nextInt(openComandas.size()));
+            call("POST /comandas/{id}/items", "POST", api.endpoint(MarketConsoleApp.COMANDA_PATH, comandaId) + "/items",
+                    Map.of("productId", randomProduct(), "quantity", 1 + random.nextInt(3)));
+        }
+
+        private void checkout() throws IOException, InterruptedException {
+            if (openComandas.isEmpty()) {
+                open();
+                return;
+            }
+            Long comandaId = openComandas.remove(random.nextInt(openComandas.size()));
+            call("PATCH /comandas/{id}/checkout", "PATCH", api.endpoint(MarketConsoleApp.COMANDA_PATH, comandaId) + "/checkout",
+                    Map.of("paymentMethod", PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]));
+        }
+
+        private Long randomProduct() {
+            return productIds.get(random.nextInt(productIds.size()));
+        }
+
+        private HttpResponse<String> call(String label, String method, String url, Object body)
+                throws IOException, InterruptedException {
+            long start = System.nanoTime();
+            HttpResponse<String> response = api.sendRequest(method, url, body);
+            LatencyRecorder recorder = recorder(label);
+            recorder.record(System.nanoTime() - start);
+            if (!api.isSuccess(response.statusCode())) {
+                recorder.recordError();
+            }
+            return response;
+        }
+    }
+
+    private LatencyRecorder recorder(String label) {
+        return recorders.computeIfAbsent(label, key -> new LatencyRecorder());
+    }
+
+    private static final class LatencyRecorder {
+        private long[] samples = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void record(long nanos) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+        }
+
+        synchronized void recordError() {
+            errors++;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
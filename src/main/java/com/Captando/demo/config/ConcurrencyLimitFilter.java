@@ -0,0 +1,77 @@
+package com.Captando.demo.config;
+
+import com.Captando.demo.exception.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Limita requisições simultâneas. Com virtual threads o Tomcat deixa de ter um
+ * teto de threads, e sem este limite todas as requisições passariam a disputar
+ * o pool do Hikari até estourar o connection-timeout. O profile {@code virtual}
+ * usa o tamanho do pool como limite; um valor bem maior que o pool só troca a
+ * espera no filtro pela espera por conexão.
+ *
+ * <p>Requisições assíncronas (SSE, exportação) devolvem a permissão quando a
+ * thread do container é liberada, não ao fim do stream.
+ */
+@Component
+@ConditionalOnProperty("mercado.concurrency.max-requests")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(@Value("${mercado.concurrency.max-requests}") int maxRequests,
+                                  @Value("${mercado.concurrency.acquire-timeout:PT1S}") Duration acquireTimeout,
+                                  ObjectMapper objectMapper) {
+        this.permits = new Semaphore(maxRequests);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            ApiError body = new ApiError(
+                    HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "SERVER_BUSY",
+                    "Servidor ocupado, tente novamente",
+                    request.getRequestURI()
+            );
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), body);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
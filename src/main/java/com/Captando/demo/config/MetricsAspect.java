@@ -0,0 +1,97 @@
+package com.Captando.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers para todos os métodos públicos dos {@code @Service} da aplicação
+ * ({@value #SERVICE_TIMER}) e dos repositórios JDBC próprios, que ficam de fora
+ * das métricas automáticas do Spring Data. Os repositórios usam o mesmo nome e as
+ * mesmas tags de {@code spring.data.repository.invocations} para aparecerem junto
+ * com os demais. Roda por fora do {@code @Transactional}, então o tempo do
+ * serviço inclui o commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricsAspect {
+
+    static final String SERVICE_TIMER = "mercado.service";
+    static final String REPOSITORY_TIMER = "spring.data.repository.invocations";
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    private final Map<Method, Timer> serviceTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Timer> repositoryTimers = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("within(com.Captando.demo.service..*) && @within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            serviceTimers.computeIfAbsent(method(joinPoint), method -> serviceTimer(joinPoint, NONE))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            serviceTimer(joinPoint, e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    @Around("within(com.Captando.demo.repository..*) && @within(org.springframework.stereotype.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            repositoryTimers.computeIfAbsent(method(joinPoint), method -> repositoryTimer(joinPoint, "SUCCESS", "None"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            repositoryTimer(joinPoint, "ERROR", e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer serviceTimer(ProceedingJoinPoint joinPoint, String exception) {
+        return Timer.builder(SERVICE_TIMER)
+                .description("Duração dos métodos de serviço")
+                .tag("class", targetName(joinPoint))
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", exception)
+                .register(registry);
+    }
+
+    private Timer repositoryTimer(ProceedingJoinPoint joinPoint, String state, String exception) {
+        return Timer.builder(REPOSITORY_TIMER)
+                .tag("repository", targetName(joinPoint))
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("state", state)
+                .tag("exception", exception)
+                .register(registry);
+    }
+
+    private static Method method(ProceedingJoinPoint joinPoint) {
+        return ((MethodSignature) joinPoint.getSignature()).getMethod();
+    }
+
+    private static String targetName(ProceedingJoinPoint joinPoint) {
+        return AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+    }
+}
@@ -0,0 +1,98 @@
+package com.Captando.demo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Conta os comandos SQL de cada requisição e publica o total por rota
+ * ({@code mercado.http.sql.statements} e {@code mercado.http.sql.time}). Requisições
+ * acima do orçamento de comandos, de repetições do mesmo SQL (N+1), de tempo
+ * em SQL ou de duração total são logadas com os comandos executados.
+ * Trabalho feito fora da thread da requisição (respostas em streaming) não entra
+ * na contagem.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final int maxRepeated;
+    private final long maxSqlNanos;
+    private final long maxRequestNanos;
+
+    public SqlBudgetFilter(MeterRegistry meterRegistry,
+                           @Value("${mercado.sql-guard.max-statements:20}") int maxStatements,
+                           @Value("${mercado.sql-guard.max-repeated:10}") int maxRepeated,
+                           @Value("${mercado.sql-guard.max-sql-time:PT0.5S}") Duration maxSqlTime,
+                           @Value("${mercado.sql-guard.max-request-time:PT2S}") Duration maxRequestTime) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.maxRepeated = maxRepeated;
+        this.maxSqlNanos = maxSqlTime.toNanos();
+        this.maxRequestNanos = maxRequestTime.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                report(request, response, stats, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, SqlStatementStats stats,
+                        long requestNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("mercado.http.sql.statements")
+                .description("Comandos SQL por requisição")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("mercado.http.sql.time")
+                .description("Tempo em SQL por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getSqlTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+
+        long sqlNanos = stats.getSqlTime(TimeUnit.NANOSECONDS);
+        int repeated = stats.getMaxRepeated();
+        if (stats.getStatements() > maxStatements || repeated > maxRepeated
+                || sqlNanos > maxSqlNanos || requestNanos > maxRequestNanos) {
+            meterRegistry.counter("mercado.http.sql.budget.exceeded", "method", request.getMethod(), "uri", uri)
+                    .increment();
+            log.warn("Requisição acima do orçamento de SQL: {} {} (status {}) {} comandos, mesmo SQL até {}x, "
+                            + "{} ms em SQL, {} ms no total\n{}",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), stats.getStatements(), repeated,
+                    TimeUnit.NANOSECONDS.toMillis(sqlNanos), TimeUnit.NANOSECONDS.toMillis(requestNanos),
+                    stats.describe());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.Captando.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envolve o DataSource com o datasource-proxy para que todo comando SQL (JPA,
+ * JdbcTemplate e Flyway) passe pelo {@link SqlStatementListener}.
+ */
+@Component
+public class SqlGuardDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Duration slowQuery;
+
+    public SqlGuardDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                           @Value("${mercado.sql-guard.slow-query:PT0.2S}") Duration slowQuery) {
+        this.meterRegistry = meterRegistry;
+        this.slowQuery = slowQuery;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new SqlStatementListener(meterRegistry, slowQuery.toNanos()))
+                    .build();
+        }
+        return bean;
+    }
+}
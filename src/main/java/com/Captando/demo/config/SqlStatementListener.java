@@ -0,0 +1,61 @@
+package com.Captando.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Listener do datasource-proxy: alimenta o {@link SqlStatementStats} da thread,
+ * registra comandos lentos e, em DEBUG, loga cada SQL com o tempo gasto (no lugar
+ * do {@code spring.jpa.show-sql}).
+ */
+class SqlStatementListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementListener.class);
+    private static final String START = "mercado.start";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long slowQueryNanos;
+
+    SqlStatementListener(ObjectProvider<MeterRegistry> meterRegistry, long slowQueryNanos) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = slowQueryNanos;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        long elapsed = start == null ? TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime()) : System.nanoTime() - start;
+        String sql = sql(execInfo, queryInfoList);
+        SqlStatementStats.record(sql, elapsed);
+
+        if (elapsed >= slowQueryNanos) {
+            log.warn("SQL lento ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsed), sql);
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                registry.counter("mercado.sql.slow").increment();
+            }
+        } else if (log.isDebugEnabled()) {
+            log.debug("SQL ({} us): {}", TimeUnit.NANOSECONDS.toMicros(elapsed), sql);
+        }
+    }
+
+    private static String sql(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        if (queryInfoList.size() > 1) {
+            sql = sql + " [+" + (queryInfoList.size() - 1) + " comandos]";
+        }
+        return execInfo.isBatch() ? sql + " [batch " + execInfo.getBatchSize() + "]" : sql;
+    }
+}
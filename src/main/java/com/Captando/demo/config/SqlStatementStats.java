@@ -0,0 +1,112 @@
+package com.Captando.demo.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contagem dos comandos SQL executados na thread corrente enquanto o escopo está
+ * aberto. Escopos podem ser aninhados (o filtro de requisição abre um, um teste
+ * pode abrir outro em volta) e cada comando conta em todos os escopos abertos.
+ *
+ * <pre>{@code
+ * try (SqlStatementStats sql = SqlStatementStats.start()) {
+ *     mockMvc.perform(get("/comandas/1"));
+ *     assertThat(sql.getStatements()).isEqualTo(2);
+ * }
+ * }</pre>
+ */
+public final class SqlStatementStats implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+    static final int MAX_DISTINCT_STATEMENTS = 100;
+
+    private final SqlStatementStats parent;
+    private final Map<String, Entry> bySql = new LinkedHashMap<>();
+    private int statements;
+    private long sqlNanos;
+    private boolean truncated;
+
+    private SqlStatementStats(SqlStatementStats parent) {
+        this.parent = parent;
+    }
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        for (SqlStatementStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.add(sql, elapsedNanos);
+        }
+    }
+
+    private void add(String sql, long elapsedNanos) {
+        statements++;
+        sqlNanos += elapsedNanos;
+        Entry entry = bySql.get(sql);
+        if (entry == null) {
+            if (bySql.size() >= MAX_DISTINCT_STATEMENTS) {
+                truncated = true;
+                return;
+            }
+            entry = new Entry();
+            bySql.put(sql, entry);
+        }
+        entry.count++;
+        entry.nanos += elapsedNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getSqlTime(TimeUnit unit) {
+        return unit.convert(sqlNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Maior número de execuções de um mesmo SQL (indício de N+1). */
+    public int getMaxRepeated() {
+        int max = 0;
+        for (Entry entry : bySql.values()) {
+            max = Math.max(max, entry.count);
+        }
+        return max;
+    }
+
+    /** Comandos executados, agrupados pelo SQL e ordenados pelo número de execuções. */
+    public String describe() {
+        List<Map.Entry<String, Entry>> entries = new ArrayList<>(bySql.entrySet());
+        entries.sort((left, right) -> Integer.compare(right.getValue().count, left.getValue().count));
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Entry> entry : entries) {
+            text.append("  ").append(entry.getValue().count).append("x ")
+                    .append(TimeUnit.NANOSECONDS.toMillis(entry.getValue().nanos)).append(" ms  ")
+                    .append(entry.getKey()).append('\n');
+        }
+        if (truncated) {
+            text.append("  ... (mais de ").append(MAX_DISTINCT_STATEMENTS).append(" SQL distintos)\n");
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private int count;
+        private long nanos;
+    }
+}
@@ -0,0 +1,66 @@
+package com.Captando.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Mede a duração das transações físicas (do begin ao commit/rollback) em
+ * {@code mercado.transaction}, por nome da transação ({@code Classe.metodo}) e
+ * resultado. O Spring Boot registra este listener no transaction manager.
+ */
+@Component
+public class TransactionMetricsListener implements TransactionExecutionListener {
+
+    private final MeterRegistry registry;
+    private final Map<TransactionExecution, Long> startedAt = new ConcurrentHashMap<>();
+
+    public TransactionMetricsListener(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null) {
+            startedAt.put(transaction, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        record(transaction, commitFailure == null ? "commit" : "commit_failed");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        record(transaction, "rollback");
+    }
+
+    private void record(TransactionExecution transaction, String outcome) {
+        Long start = startedAt.remove(transaction);
+        if (start == null) {
+            return;
+        }
+        Timer.builder("mercado.transaction")
+                .description("Duração das transações, do begin ao commit/rollback")
+                .tag("name", shortName(transaction.getTransactionName()))
+                .tag("read_only", Boolean.toString(transaction.isReadOnly()))
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String shortName(String name) {
+        if (name == null || name.isEmpty()) {
+            return "unnamed";
+        }
+        int methodDot = name.lastIndexOf('.');
+        int classDot = methodDot > 0 ? name.lastIndexOf('.', methodDot - 1) : -1;
+        return name.substring(classDot + 1);
+    }
+}
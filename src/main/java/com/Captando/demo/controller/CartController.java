@@ -64,7 +64,7 @@ public class CartController {
     @PatchMapping("/{id}/checkout")
     @Operation(summary = "Checkout do carrinho")
     public ComandaResponse checkout(@PathVariable Long id, @RequestBody ComandaCheckoutRequest request) {
-        return comandaService.checkout(id, request);
+        return comandaService.checkout(id, request, null);
     }
 }
 
@@ -1,22 +1,35 @@
 package com.Captando.demo.controller;
 
 import com.Captando.demo.dto.AddComandaItemRequest;
+import com.Captando.demo.dto.AddComandaItemsRequest;
 import com.Captando.demo.dto.ApplyComandaDiscountRequest;
 import com.Captando.demo.dto.ComandaCheckoutRequest;
 import com.Captando.demo.dto.ComandaResponse;
+import com.Captando.demo.dto.ComandaSummaryResponse;
 import com.Captando.demo.dto.CreateComandaRequest;
+import com.Captando.demo.dto.CursorPageResponse;
+import com.Captando.demo.model.ComandaStatus;
 import com.Captando.demo.model.PaymentMethod;
+import com.Captando.demo.service.ComandaEventStream;
+import com.Captando.demo.service.ComandaExportService;
 import com.Captando.demo.service.ComandaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,9 +39,15 @@ import java.util.List;
 public class ComandaController {
 
     private final ComandaService comandaService;
+    private final ComandaExportService comandaExportService;
+    private final ComandaEventStream comandaEventStream;
 
-    public ComandaController(ComandaService comandaService) {
+    public ComandaController(ComandaService comandaService,
+                             ComandaExportService comandaExportService,
+                             ComandaEventStream comandaEventStream) {
         this.comandaService = comandaService;
+        this.comandaExportService = comandaExportService;
+        this.comandaEventStream = comandaEventStream;
     }
 
     @GetMapping
@@ -45,10 +64,89 @@ public class ComandaController {
         return comandaService.findAll(pageable);
     }
 
+    @GetMapping(params = "after")
+    @Operation(summary = "Listar comandas por cursor (keyset, sem contagem)")
+    public CursorPageResponse<ComandaResponse> getComandasAfter(
+            @RequestParam(required = false) ComandaStatus status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,desc") String sort) {
+
+        String[] sortParts = sort.split(",");
+        Sort.Order order = new Sort.Order(Sort.Direction.fromString(sortParts[1].trim()), sortParts[0].trim());
+
+        return comandaService.findAfter(status, after, size, order);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar comandas encerradas no período (NDJSON ou CSV)")
+    public ResponseEntity<StreamingResponseBody> exportComandas(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) ComandaStatus status,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        LocalDate lastDay = to == null ? from : to;
+        if (lastDay.isBefore(from)) {
+            throw new IllegalArgumentException("to não pode ser anterior a from");
+        }
+        ComandaExportService.Format exportFormat = switch (format.trim().toLowerCase()) {
+            case "csv" -> ComandaExportService.Format.CSV;
+            case "ndjson" -> ComandaExportService.Format.NDJSON;
+            default -> throw new IllegalArgumentException("format deve ser csv ou ndjson");
+        };
+
+        StreamingResponseBody body = output -> comandaExportService.export(
+                from.atStartOfDay(), lastDay.plusDays(1).atStartOfDay(), status, exportFormat, output);
+        String extension = exportFormat == ComandaExportService.Format.CSV ? "csv" : "ndjson";
+        return ResponseEntity.ok()
+                .contentType(exportFormat == ComandaExportService.Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"comandas-" + from + "_" + lastDay + "." + extension + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Listar resumo das comandas (sem itens)")
+    public Page<ComandaSummaryResponse> getSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,desc") String sort) {
+
+        String[] sortParts = sort.split(",");
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by(Sort.Direction.fromString(sortParts[1].trim()), sortParts[0].trim()));
+
+        return comandaService.findSummaries(pageable);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar comanda por id")
-    public ComandaResponse getById(@PathVariable Long id) {
-        return comandaService.findById(id);
+    public ResponseEntity<ComandaResponse> getById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = ETags.of(comandaService.findVersion(id));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag);
+            }
+        }
+        ComandaResponse comanda = comandaService.findById(id);
+        return ETags.withVersion(comanda, comanda.getVersion());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar alterações de todas as comandas por Server-Sent Events")
+    public SseEmitter streamAll() {
+        return comandaEventStream.subscribe(null, null);
+    }
+
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar uma comanda por Server-Sent Events")
+    public SseEmitter stream(@PathVariable Long id) {
+        return comandaEventStream.subscribe(id, () -> comandaService.findById(id));
     }
 
     @PostMapping
@@ -66,6 +164,14 @@ public class ComandaController {
         return comandaService.addItem(id, request);
     }
 
+    @PostMapping("/{id}/items:batch")
+    @Operation(summary = "Adicionar vários itens na comanda de uma vez")
+    public ComandaResponse addItems(
+            @PathVariable Long id,
+            @Valid @RequestBody AddComandaItemsRequest request) {
+        return comandaService.addItems(id, request.getItems());
+    }
+
     @DeleteMapping("/{comandaId}/items/{itemId}")
     @Operation(summary = "Remover item da comanda")
     public ComandaResponse removeItem(@PathVariable Long comandaId, @PathVariable Long itemId) {
@@ -74,26 +180,41 @@ public class ComandaController {
 
     @PatchMapping("/{id}/discount")
     @Operation(summary = "Aplicar desconto na comanda")
-    public ComandaResponse applyDiscount(@PathVariable Long id, @Valid @RequestBody ApplyComandaDiscountRequest request) {
-        return comandaService.applyDiscount(id, request);
+    public ResponseEntity<ComandaResponse> applyDiscount(
+            @PathVariable Long id,
+            @Valid @RequestBody ApplyComandaDiscountRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ComandaResponse comanda = comandaService.applyDiscount(id, request, ETags.expectedVersion(ifMatch));
+        return ETags.withVersion(comanda, comanda.getVersion());
     }
 
     @PatchMapping("/{id}/payment")
     @Operation(summary = "Definir método de pagamento da comanda")
-    public ComandaResponse setPayment(@PathVariable Long id, @RequestParam PaymentMethod paymentMethod) {
-        return comandaService.setPaymentMethod(id, paymentMethod);
+    public ResponseEntity<ComandaResponse> setPayment(
+            @PathVariable Long id,
+            @RequestParam PaymentMethod paymentMethod,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ComandaResponse comanda = comandaService.setPaymentMethod(id, paymentMethod, ETags.expectedVersion(ifMatch));
+        return ETags.withVersion(comanda, comanda.getVersion());
     }
 
     @PatchMapping("/{id}/checkout")
     @Operation(summary = "Fechar comanda com pagamento")
-    public ComandaResponse checkout(@PathVariable Long id, @Valid @RequestBody ComandaCheckoutRequest request) {
-        return comandaService.checkout(id, request);
+    public ResponseEntity<ComandaResponse> checkout(
+            @PathVariable Long id,
+            @Valid @RequestBody ComandaCheckoutRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ComandaResponse comanda = comandaService.checkout(id, request, ETags.expectedVersion(ifMatch));
+        return ETags.withVersion(comanda, comanda.getVersion());
     }
 
     @PatchMapping("/{id}/close")
     @Operation(summary = "Fechar comanda")
-    public ComandaResponse close(@PathVariable Long id) {
-        return comandaService.close(id);
+    public ResponseEntity<ComandaResponse> close(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ComandaResponse comanda = comandaService.close(id, ETags.expectedVersion(ifMatch));
+        return ETags.withVersion(comanda, comanda.getVersion());
     }
 
     @GetMapping("/payment-methods")
@@ -1,5 +1,6 @@
 package com.Captando.demo.controller;
 
+import com.Captando.demo.dto.CursorPageResponse;
 import com.Captando.demo.dto.CustomerRequest;
 import com.Captando.demo.dto.CustomerResponse;
 import com.Captando.demo.service.CustomerService;
@@ -40,6 +41,17 @@ public class CustomerController {
         return customerService.findAll(pageable);
     }
 
+    @GetMapping(params = "after")
+    @Operation(summary = "Listar clientes por cursor (keyset, sem contagem)")
+    public CursorPageResponse<CustomerResponse> getAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,asc") String sort) {
+        String[] sortParts = sort.split(",");
+        Sort.Order order = new Sort.Order(Sort.Direction.fromString(sortParts[1].trim()), sortParts[0].trim());
+        return customerService.findAfter(after, size, order);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar cliente por id")
     public CustomerResponse getById(@PathVariable Long id) {
@@ -0,0 +1,38 @@
+package com.Captando.demo.controller;
+
+import com.Captando.demo.dto.LiveSalesResponse;
+import com.Captando.demo.service.LiveDashboardPublisher;
+import com.Captando.demo.service.LiveSalesMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/dashboard")
+@Tag(name = "Painel", description = "Números de vendas ao vivo, mantidos em memória")
+public class DashboardController {
+
+    private final LiveSalesMetrics liveSalesMetrics;
+    private final LiveDashboardPublisher liveDashboardPublisher;
+
+    public DashboardController(LiveSalesMetrics liveSalesMetrics, LiveDashboardPublisher liveDashboardPublisher) {
+        this.liveSalesMetrics = liveSalesMetrics;
+        this.liveDashboardPublisher = liveDashboardPublisher;
+    }
+
+    @GetMapping("/live")
+    @Operation(summary = "Comandas abertas e vendas dos últimos 5, 15 e 60 minutos")
+    public LiveSalesResponse live() {
+        return liveSalesMetrics.snapshot();
+    }
+
+    @GetMapping(value = "/live/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Painel ao vivo por Server-Sent Events")
+    public SseEmitter stream() {
+        return liveDashboardPublisher.subscribe();
+    }
+}
@@ -0,0 +1,73 @@
+package com.Captando.demo.controller;
+
+import com.Captando.demo.service.PreconditionFailedException;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * ETags fortes derivadas da coluna de versão das entidades: {@code "<versão>"}
+ * para um recurso e um hash das versões para uma página. Comparar o
+ * {@code If-None-Match} com a versão dispensa montar e serializar a resposta.
+ * Pública porque o módulo {@code reactive} compila esta classe junto.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static <T> String ofPage(String prefix, long total, List<T> items, ToLongFunction<T> id, ToLongFunction<T> version) {
+        long hash = 1125899906842597L ^ total;
+        for (T item : items) {
+            hash = 31 * hash + id.applyAsLong(item);
+            hash = 31 * hash + version.applyAsLong(item);
+        }
+        return "\"" + prefix + Long.toHexString(hash) + "\"";
+    }
+
+    /** {@code If-None-Match} usa comparação fraca: {@code W/"3"} casa com {@code "3"}. */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || (value.startsWith("W/") ? value.substring(2) : value).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static <T> ResponseEntity<T> withVersion(T body, Long version) {
+        return ResponseEntity.ok().eTag(of(version)).body(body);
+    }
+
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * Versão exigida pelo {@code If-Match} ({@code null} sem cabeçalho ou com
+     * {@code *}). A comparação é forte, então ETags fracas nunca casam.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match deve ser uma única ETag forte, ex.: \"3\"");
+        }
+        try {
+            return Long.valueOf(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match não corresponde a nenhuma versão: " + value);
+        }
+    }
+}
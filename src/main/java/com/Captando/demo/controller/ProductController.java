@@ -1,17 +1,28 @@
 package com.Captando.demo.controller;
 
+import com.Captando.demo.dto.CursorPageResponse;
+import com.Captando.demo.dto.ProductCacheStatsResponse;
+import com.Captando.demo.dto.ProductImportResponse;
 import com.Captando.demo.dto.ProductRequest;
 import com.Captando.demo.dto.ProductResponse;
+import com.Captando.demo.dto.ProductSuggestionResponse;
+import com.Captando.demo.dto.ProductVersion;
 import com.Captando.demo.dto.StockAdjustmentRequest;
+import com.Captando.demo.service.ProductImportService;
 import com.Captando.demo.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.*;
@@ -21,23 +32,32 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Produtos", description = "Catálogo de produtos do mercado")
 public class ProductController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductImportService productImportService) {
         this.productService = productService;
+        this.productImportService = productImportService;
     }
 
     @GetMapping
     @Operation(summary = "Listar produtos")
-    public Page<ProductResponse> getAllProducts(
+    public ResponseEntity<Page<ProductResponse>> getAllProducts(
             @RequestParam(required = false) String name,
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
             @RequestParam(required = false) Boolean active,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id,asc") String sort) {
+            @RequestParam(required = false) String sort,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (sort == null) {
+            sort = (name != null && !name.isBlank()) || (q != null && !q.isBlank()) ? "relevance,desc" : "id,asc";
+        }
         String[] sortParts = sort.split(",");
         Pageable pageable;
         if (sortParts.length == 2) {
@@ -50,13 +70,64 @@ public class ProductController {
         } else {
             pageable = PageRequest.of(page, size);
         }
-        return productService.findAll(name, category, minPrice, maxPrice, active, pageable);
+        if (ifNoneMatch != null) {
+            Page<ProductVersion> versions = productService.findVersions(name, q, category, minPrice, maxPrice, active,
+                    pageable);
+            String etag = ETags.ofPage("p", versions.getTotalElements(), versions.getContent(),
+                    ProductVersion::getId, ProductVersion::getVersion);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag);
+            }
+        }
+        Page<ProductResponse> products = productService.findAll(name, q, category, minPrice, maxPrice, active, pageable);
+        String etag = ETags.ofPage("p", products.getTotalElements(), products.getContent(),
+                ProductResponse::getId, ProductResponse::getVersion);
+        return ResponseEntity.ok().eTag(etag).body(products);
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "Listar produtos por cursor (keyset, sem contagem)")
+    public CursorPageResponse<ProductResponse> getProductsAfter(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,asc") String sort) {
+        String[] sortParts = sort.split(",");
+        String direction = sortParts.length == 2 && sortParts[1].trim().equalsIgnoreCase("desc") ? "desc" : "asc";
+        Sort.Order order = new Sort.Order(Sort.Direction.fromString(direction), sortParts[0].trim());
+        return productService.findAfter(name, q, category, minPrice, maxPrice, active, after, size, order);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Sugerir produtos ativos pelo início do nome (autocompletar)")
+    public List<ProductSuggestionResponse> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return productService.suggest(prefix, limit);
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Estatísticas do cache de produtos")
+    public ProductCacheStatsResponse cacheStats() {
+        return productService.cacheStats();
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar produto por id")
-    public ProductResponse getProductById(@PathVariable Long id) {
-        return productService.findById(id);
+    public ResponseEntity<ProductResponse> getProductById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ProductResponse product = productService.findById(id);
+        String etag = ETags.of(product.getVersion());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(product);
     }
 
     @PostMapping
@@ -66,18 +137,35 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar produtos em lote (CSV com cabeçalho ou NDJSON)")
+    public ProductImportResponse importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        ProductImportService.Format format = TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? ProductImportService.Format.CSV
+                : ProductImportService.Format.NDJSON;
+        return productImportService.importProducts(body, format);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar produto")
-    public ProductResponse updateProduct(@PathVariable Long id, @Valid @RequestBody ProductRequest request) {
-        return productService.update(id, request);
+    public ResponseEntity<ProductResponse> updateProduct(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProductResponse product = productService.update(id, request, ETags.expectedVersion(ifMatch));
+        return ETags.withVersion(product, product.getVersion());
     }
 
     @PatchMapping("/{id}/stock")
     @Operation(summary = "Ajustar estoque")
-    public ProductResponse adjustStock(
+    public ResponseEntity<ProductResponse> adjustStock(
             @PathVariable Long id,
-            @Valid @RequestBody StockAdjustmentRequest request) {
-        return productService.adjustStock(id, request.getDelta());
+            @Valid @RequestBody StockAdjustmentRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProductResponse product = productService.adjustStock(id, request.getDelta(), ETags.expectedVersion(ifMatch));
+        return ETags.withVersion(product, product.getVersion());
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,79 @@
+package com.Captando.demo.controller;
+
+import com.Captando.demo.dto.CategorySalesResponse;
+import com.Captando.demo.dto.ProductSalesResponse;
+import com.Captando.demo.dto.SalesBucketResponse;
+import com.Captando.demo.model.PaymentMethod;
+import com.Captando.demo.service.SalesReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/reports/sales")
+@Tag(name = "Relatórios", description = "Vendas agregadas por período, produto, categoria e forma de pagamento")
+public class ReportController {
+
+    private final SalesReportService salesReportService;
+
+    public ReportController(SalesReportService salesReportService) {
+        this.salesReportService = salesReportService;
+    }
+
+    @GetMapping("/payment-methods")
+    @Operation(summary = "Vendas por forma de pagamento no período")
+    public List<SalesBucketResponse> byPaymentMethod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return salesReportService.byPaymentMethod(from, to);
+    }
+
+    @GetMapping("/daily")
+    @Operation(summary = "Vendas por dia no período")
+    public List<SalesBucketResponse> daily(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) PaymentMethod paymentMethod) {
+        return salesReportService.daily(from, to, paymentMethod);
+    }
+
+    @GetMapping("/hourly")
+    @Operation(summary = "Vendas por hora em um dia")
+    public List<SalesBucketResponse> hourly(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) PaymentMethod paymentMethod) {
+        return salesReportService.hourly(date, paymentMethod);
+    }
+
+    @GetMapping("/products")
+    @Operation(summary = "Produtos mais vendidos no período")
+    public List<ProductSalesResponse> topProducts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) PaymentMethod paymentMethod,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "quantity") String orderBy,
+            @RequestParam(defaultValue = "10") int limit) {
+        boolean byRevenue = switch (orderBy.trim().toLowerCase()) {
+            case "quantity" -> false;
+            case "revenue" -> true;
+            default -> throw new IllegalArgumentException("orderBy deve ser quantity ou revenue");
+        };
+        return salesReportService.topProducts(from, to, paymentMethod, category, byRevenue, limit);
+    }
+
+    @GetMapping("/categories")
+    @Operation(summary = "Vendas por categoria no período")
+    public List<CategorySalesResponse> byCategory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) PaymentMethod paymentMethod) {
+        return salesReportService.byCategory(from, to, paymentMethod);
+    }
+}
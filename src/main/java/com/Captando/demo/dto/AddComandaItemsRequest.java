@@ -0,0 +1,25 @@
+package com.Captando.demo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AddComandaItemsRequest {
+
+    @NotEmpty(message = "items é obrigatório")
+    @Size(max = 500, message = "items deve ter no máximo 500 linhas")
+    private List<@Valid AddComandaItemRequest> items = new ArrayList<>();
+
+    public AddComandaItemsRequest() {
+    }
+
+    public AddComandaItemsRequest(List<AddComandaItemRequest> items) {
+        this.items = items;
+    }
+
+    public List<AddComandaItemRequest> getItems() {
+        return items;
+    }
+}
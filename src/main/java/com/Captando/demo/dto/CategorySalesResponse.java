@@ -0,0 +1,28 @@
+package com.Captando.demo.dto;
+
+public class CategorySalesResponse {
+    private String category;
+    private long quantity;
+    private double revenue;
+
+    public CategorySalesResponse() {
+    }
+
+    public CategorySalesResponse(String category, long quantity, double revenue) {
+        this.category = category;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+}
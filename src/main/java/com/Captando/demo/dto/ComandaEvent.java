@@ -0,0 +1,53 @@
+package com.Captando.demo.dto;
+
+import java.time.Instant;
+
+public class ComandaEvent {
+
+    public enum Type {
+        SNAPSHOT,
+        CREATED,
+        ITEMS_CHANGED,
+        UPDATED,
+        CLOSED,
+        CANCELLED,
+        DELETED
+    }
+
+    private Type type;
+    private Long comandaId;
+    private Long version;
+    private Instant occurredAt;
+    private ComandaResponse comanda;
+
+    public ComandaEvent() {
+    }
+
+    public ComandaEvent(Type type, Long comandaId, Long version, Instant occurredAt, ComandaResponse comanda) {
+        this.type = type;
+        this.comandaId = comandaId;
+        this.version = version;
+        this.occurredAt = occurredAt;
+        this.comanda = comanda;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getComandaId() {
+        return comandaId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public ComandaResponse getComanda() {
+        return comanda;
+    }
+}
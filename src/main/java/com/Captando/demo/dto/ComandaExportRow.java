@@ -0,0 +1,80 @@
+package com.Captando.demo.dto;
+
+import java.time.LocalDateTime;
+
+public class ComandaExportRow {
+    private Long id;
+    private String customerName;
+    private Long customerId;
+    private String status;
+    private String paymentMethod;
+    private LocalDateTime createdAt;
+    private LocalDateTime closedAt;
+    private Double subtotal;
+    private Double discountPercent;
+    private Double discountAmount;
+    private Double total;
+
+    public ComandaExportRow() {
+    }
+
+    public ComandaExportRow(Long id, String customerName, Long customerId, String status, String paymentMethod,
+                            LocalDateTime createdAt, LocalDateTime closedAt, Double subtotal,
+                            Double discountPercent, Double discountAmount, Double total) {
+        this.id = id;
+        this.customerName = customerName;
+        this.customerId = customerId;
+        this.status = status;
+        this.paymentMethod = paymentMethod;
+        this.createdAt = createdAt;
+        this.closedAt = closedAt;
+        this.subtotal = subtotal;
+        this.discountPercent = discountPercent;
+        this.discountAmount = discountAmount;
+        this.total = total;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public Double getSubtotal() {
+        return subtotal;
+    }
+
+    public Double getDiscountPercent() {
+        return discountPercent;
+    }
+
+    public Double getDiscountAmount() {
+        return discountAmount;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+}
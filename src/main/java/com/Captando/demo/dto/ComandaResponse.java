@@ -17,6 +17,7 @@ public class ComandaResponse {
     private Double total;
     private String paymentMethod;
     private List<ComandaItemResponse> items = new ArrayList<>();
+    private Long version;
 
     public ComandaResponse() {
     }
@@ -24,7 +25,8 @@ public class ComandaResponse {
     public ComandaResponse(Long id, String customerName, Long customerId, String status,
                            LocalDateTime createdAt, LocalDateTime closedAt,
                            Double subtotal, Double discountPercent, Double discountAmount,
-                           Double total, String paymentMethod, List<ComandaItemResponse> items) {
+                           Double total, String paymentMethod, List<ComandaItemResponse> items,
+                           Long version) {
         this.id = id;
         this.customerName = customerName;
         this.customerId = customerId;
@@ -37,6 +39,7 @@ public class ComandaResponse {
         this.total = total;
         this.paymentMethod = paymentMethod;
         this.items = items;
+        this.version = version;
     }
 
     public Long getId() {
@@ -86,4 +89,8 @@ public class ComandaResponse {
     public List<ComandaItemResponse> getItems() {
         return items;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
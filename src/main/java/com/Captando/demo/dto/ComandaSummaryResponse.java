@@ -0,0 +1,40 @@
+package com.Captando.demo.dto;
+
+public class ComandaSummaryResponse {
+    private Long id;
+    private String customerName;
+    private Long customerId;
+    private String status;
+    private Double total;
+
+    public ComandaSummaryResponse() {
+    }
+
+    public ComandaSummaryResponse(Long id, String customerName, Long customerId, String status, Double total) {
+        this.id = id;
+        this.customerName = customerName;
+        this.customerId = customerId;
+        this.status = status;
+        this.total = total;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+}
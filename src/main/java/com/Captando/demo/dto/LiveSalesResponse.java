@@ -0,0 +1,44 @@
+package com.Captando.demo.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class LiveSalesResponse {
+    private Instant timestamp;
+    private long openComandas;
+    private long closedSinceStartup;
+    private double revenueSinceStartup;
+    private List<LiveSalesWindowResponse> windows;
+
+    public LiveSalesResponse() {
+    }
+
+    public LiveSalesResponse(Instant timestamp, long openComandas, long closedSinceStartup,
+                             double revenueSinceStartup, List<LiveSalesWindowResponse> windows) {
+        this.timestamp = timestamp;
+        this.openComandas = openComandas;
+        this.closedSinceStartup = closedSinceStartup;
+        this.revenueSinceStartup = revenueSinceStartup;
+        this.windows = windows;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public long getOpenComandas() {
+        return openComandas;
+    }
+
+    public long getClosedSinceStartup() {
+        return closedSinceStartup;
+    }
+
+    public double getRevenueSinceStartup() {
+        return revenueSinceStartup;
+    }
+
+    public List<LiveSalesWindowResponse> getWindows() {
+        return windows;
+    }
+}
@@ -0,0 +1,34 @@
+package com.Captando.demo.dto;
+
+public class LiveSalesWindowResponse {
+    private int minutes;
+    private long comandas;
+    private double revenue;
+    private double averageTicket;
+
+    public LiveSalesWindowResponse() {
+    }
+
+    public LiveSalesWindowResponse(int minutes, long comandas, double revenue, double averageTicket) {
+        this.minutes = minutes;
+        this.comandas = comandas;
+        this.revenue = revenue;
+        this.averageTicket = averageTicket;
+    }
+
+    public int getMinutes() {
+        return minutes;
+    }
+
+    public long getComandas() {
+        return comandas;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public double getAverageTicket() {
+        return averageTicket;
+    }
+}
@@ -0,0 +1,22 @@
+package com.Captando.demo.dto;
+
+public class ProductImportError {
+    private long line;
+    private String message;
+
+    public ProductImportError() {
+    }
+
+    public ProductImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
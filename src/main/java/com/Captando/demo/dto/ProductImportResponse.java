@@ -0,0 +1,55 @@
+package com.Captando.demo.dto;
+
+import java.util.List;
+
+public class ProductImportResponse {
+    private long processed;
+    private long created;
+    private long updated;
+    private long failed;
+    private List<ProductImportError> errors;
+    private boolean errorsTruncated;
+    private long elapsedMillis;
+
+    public ProductImportResponse() {
+    }
+
+    public ProductImportResponse(long processed, long created, long updated, long failed,
+                                 List<ProductImportError> errors, boolean errorsTruncated, long elapsedMillis) {
+        this.processed = processed;
+        this.created = created;
+        this.updated = updated;
+        this.failed = failed;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<ProductImportError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -9,11 +9,13 @@ public class ProductResponse {
     private String category;
     private Integer stockQuantity;
     private boolean active;
+    private Long version;
 
     public ProductResponse() {
     }
 
-    public ProductResponse(Long id, String name, String description, Double price, String category, Integer stockQuantity, boolean active) {
+    public ProductResponse(Long id, String name, String description, Double price, String category, Integer stockQuantity, boolean active,
+                           Long version) {
         this.id = id;
         this.name = name;
         this.description = description;
@@ -21,6 +23,7 @@ public class ProductResponse {
         this.category = category;
         this.stockQuantity = stockQuantity;
         this.active = active;
+        this.version = version;
     }
 
     public Long getId() {
@@ -50,4 +53,8 @@ public class ProductResponse {
     public boolean isActive() {
         return active;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,40 @@
+package com.Captando.demo.dto;
+
+public class ProductSalesResponse {
+    private Long productId;
+    private String productName;
+    private String category;
+    private long quantity;
+    private double revenue;
+
+    public ProductSalesResponse() {
+    }
+
+    public ProductSalesResponse(Long productId, String productName, String category, long quantity, double revenue) {
+        this.productId = productId;
+        this.productName = productName;
+        this.category = category;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+}
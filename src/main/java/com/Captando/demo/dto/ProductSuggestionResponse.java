@@ -0,0 +1,34 @@
+package com.Captando.demo.dto;
+
+public class ProductSuggestionResponse {
+    private Long id;
+    private String name;
+    private String category;
+    private Double price;
+
+    public ProductSuggestionResponse() {
+    }
+
+    public ProductSuggestionResponse(Long id, String name, String category, Double price) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.price = price;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+}
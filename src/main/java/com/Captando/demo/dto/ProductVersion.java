@@ -0,0 +1,22 @@
+package com.Captando.demo.dto;
+
+public class ProductVersion {
+    private Long id;
+    private Long version;
+
+    public ProductVersion() {
+    }
+
+    public ProductVersion(Long id, Long version) {
+        this.id = id;
+        this.version = version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
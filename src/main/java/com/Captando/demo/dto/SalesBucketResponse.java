@@ -0,0 +1,40 @@
+package com.Captando.demo.dto;
+
+public class SalesBucketResponse {
+    private String bucket;
+    private long comandas;
+    private double subtotal;
+    private double discount;
+    private double total;
+
+    public SalesBucketResponse() {
+    }
+
+    public SalesBucketResponse(String bucket, long comandas, double subtotal, double discount, double total) {
+        this.bucket = bucket;
+        this.comandas = comandas;
+        this.subtotal = subtotal;
+        this.discount = discount;
+        this.total = total;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public long getComandas() {
+        return comandas;
+    }
+
+    public double getSubtotal() {
+        return subtotal;
+    }
+
+    public double getDiscount() {
+        return discount;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+}
@@ -5,20 +5,34 @@ import com.Captando.demo.service.InsufficientStockException;
 import com.Captando.demo.service.ComandaNotFoundException;
 import com.Captando.demo.service.ComandaClosedException;
 import com.Captando.demo.service.CustomerNotFoundException;
+import com.Captando.demo.service.PreconditionFailedException;
+import com.Captando.demo.service.StreamCapacityException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.HashMap;
 import java.util.Map;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.util.DisconnectedClientHelper;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(ProductNotFoundException.class)
     public ResponseEntity<ApiError> handleProductNotFound(ProductNotFoundException ex, HttpServletRequest request) {
+        countError("PRODUCT_NOT_FOUND", ex);
         ApiError body = new ApiError(
                 HttpStatus.NOT_FOUND.value(),
                 "PRODUCT_NOT_FOUND",
@@ -30,6 +44,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest request) {
+        countError("INVALID_PAYLOAD", ex);
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(fieldError ->
                 errors.put(fieldError.getField(), fieldError.getDefaultMessage())
@@ -45,6 +60,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InsufficientStockException.class)
     public ResponseEntity<ApiError> handleInsufficientStock(InsufficientStockException ex, HttpServletRequest request) {
+        countError("INSUFFICIENT_STOCK", ex);
         ApiError body = new ApiError(
                 HttpStatus.CONFLICT.value(),
                 "INSUFFICIENT_STOCK",
@@ -56,6 +72,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ComandaNotFoundException.class)
     public ResponseEntity<ApiError> handleComandaNotFound(ComandaNotFoundException ex, HttpServletRequest request) {
+        countError("COMANDA_NOT_FOUND", ex);
         ApiError body = new ApiError(
                 HttpStatus.NOT_FOUND.value(),
                 "COMANDA_NOT_FOUND",
@@ -67,6 +84,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ComandaClosedException.class)
     public ResponseEntity<ApiError> handleComandaClosed(ComandaClosedException ex, HttpServletRequest request) {
+        countError("COMANDA_CLOSED", ex);
         ApiError body = new ApiError(
                 HttpStatus.CONFLICT.value(),
                 "COMANDA_CLOSED",
@@ -78,6 +96,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(CustomerNotFoundException.class)
     public ResponseEntity<ApiError> handleCustomerNotFound(CustomerNotFoundException ex, HttpServletRequest request) {
+        countError("CUSTOMER_NOT_FOUND", ex);
         ApiError body = new ApiError(
                 HttpStatus.NOT_FOUND.value(),
                 "CUSTOMER_NOT_FOUND",
@@ -87,8 +106,70 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailed(PreconditionFailedException ex, HttpServletRequest request) {
+        countError("PRECONDITION_FAILED", ex);
+        ApiError body = new ApiError(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "PRECONDITION_FAILED",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(body);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleConcurrentModification(ObjectOptimisticLockingFailureException ex,
+                                                                 HttpServletRequest request) {
+        countError("CONCURRENT_MODIFICATION", ex);
+        ApiError body = new ApiError(
+                HttpStatus.CONFLICT.value(),
+                "CONCURRENT_MODIFICATION",
+                "Registro alterado por outra requisição, recarregue e tente novamente",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleLockConflict(PessimisticLockingFailureException ex, HttpServletRequest request) {
+        countError("LOCK_CONFLICT", ex);
+        ApiError body = new ApiError(
+                HttpStatus.CONFLICT.value(),
+                "LOCK_CONFLICT",
+                "Registro bloqueado por outra requisição, tente novamente",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).header("Retry-After", "1").body(body);
+    }
+
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ApiError> handleNoConnection(CannotCreateTransactionException ex, HttpServletRequest request) {
+        countError("SERVER_BUSY", ex);
+        ApiError body = new ApiError(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "SERVER_BUSY",
+                "Nenhuma conexão com o banco disponível, tente novamente",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(body);
+    }
+
+    @ExceptionHandler(StreamCapacityException.class)
+    public ResponseEntity<ApiError> handleStreamCapacity(StreamCapacityException ex, HttpServletRequest request) {
+        countError("SERVER_BUSY", ex);
+        ApiError body = new ApiError(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "SERVER_BUSY",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(body);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiError> handleBusinessError(IllegalArgumentException ex, HttpServletRequest request) {
+        countError("BAD_REQUEST", ex);
         ApiError body = new ApiError(
                 HttpStatus.BAD_REQUEST.value(),
                 "BAD_REQUEST",
@@ -100,6 +181,11 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGenericError(Exception ex, HttpServletRequest request) {
+        if (DisconnectedClientHelper.isClientDisconnectedException(ex)) {
+            // Cliente de streaming (SSE, exportação) desconectou: não há para onde escrever o erro.
+            return null;
+        }
+        countError("INTERNAL_ERROR", ex);
         ApiError body = new ApiError(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 "INTERNAL_ERROR",
@@ -108,4 +194,8 @@ public class GlobalExceptionHandler {
         );
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
     }
+
+    private void countError(String code, Exception ex) {
+        meterRegistry.counter("mercado.api.errors", "code", code, "exception", ex.getClass().getSimpleName()).increment();
+    }
 }
@@ -10,17 +10,24 @@ import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "comandas")
 public class Comanda {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comandas_seq")
+    @SequenceGenerator(name = "comandas_seq", sequenceName = "comandas_seq", allocationSize = 50)
     private Long id;
 
     private String customerName;
@@ -31,14 +38,26 @@ public class Comanda {
     private Customer customer;
 
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
     private LocalDateTime closedAt;
     private Double discountPercent = 0.0;
     private Double discountAmount = 0.0;
+    private Double subtotal = 0.0;
+    private Double total = 0.0;
     private PaymentMethod paymentMethod;
+    @Version
+    private Long version;
 
     @OneToMany(mappedBy = "comanda", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ComandaItem> items = new ArrayList<>();
 
+    @Transient
+    private Map<Long, ComandaItem> itemsByProductId;
+    @Transient
+    private Map<Long, ComandaItem> itemsById;
+    @Transient
+    private boolean itemsWithoutId;
+
     public Comanda() {
     }
 
@@ -49,12 +68,22 @@ public class Comanda {
     @PrePersist
     void onCreate() {
         this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
     }
 
     public Long getId() {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getCustomerName() {
         return customerName;
     }
@@ -87,6 +116,10 @@ public class Comanda {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     public LocalDateTime getClosedAt() {
         return closedAt;
     }
@@ -101,6 +134,7 @@ public class Comanda {
 
     public void setDiscountPercent(Double discountPercent) {
         this.discountPercent = discountPercent == null ? 0.0 : discountPercent;
+        updateTotal();
     }
 
     public Double getDiscountAmount() {
@@ -109,6 +143,7 @@ public class Comanda {
 
     public void setDiscountAmount(Double discountAmount) {
         this.discountAmount = discountAmount == null ? 0.0 : discountAmount;
+        updateTotal();
     }
 
     public PaymentMethod getPaymentMethod() {
@@ -125,29 +160,104 @@ public class Comanda {
 
     public void setItems(List<ComandaItem> items) {
         this.items = items;
+        this.itemsByProductId = null;
+        reconcileTotals();
+    }
+
+    public ComandaItem findItemByProductId(Long productId) {
+        indexItems();
+        return itemsByProductId.get(productId);
+    }
+
+    public ComandaItem findItemById(Long itemId) {
+        indexItems();
+        ComandaItem item = itemsById.get(itemId);
+        if (item == null && itemsWithoutId) {
+            // itens novos só recebem id no flush; reindexa uma vez para enxergá-los
+            this.itemsByProductId = null;
+            indexItems();
+            item = itemsById.get(itemId);
+        }
+        return item;
     }
 
     public void addItem(ComandaItem item) {
         item.setComanda(this);
         this.items.add(item);
+        if (itemsByProductId != null) {
+            index(item);
+        }
+        this.subtotal = getSubtotal() + item.getLineTotal();
+        updateTotal();
     }
 
     public void removeItem(ComandaItem item) {
-        this.items.remove(item);
+        if (this.items.remove(item)) {
+            this.subtotal = getSubtotal() - item.getLineTotal();
+            updateTotal();
+            if (itemsByProductId != null) {
+                itemsByProductId.remove(item.getProduct().getId(), item);
+                if (item.getId() != null) {
+                    itemsById.remove(item.getId(), item);
+                }
+            }
+        }
         item.setComanda(null);
     }
 
-    public double getTotal() {
-        double sub = items.stream()
+    public void changeItemQuantity(ComandaItem item, int quantity) {
+        double previousLineTotal = item.getLineTotal();
+        item.setQuantity(quantity);
+        this.subtotal = getSubtotal() + item.getLineTotal() - previousLineTotal;
+        updateTotal();
+    }
+
+    /**
+     * Recalcula subtotal e total a partir dos itens. Retorna {@code true} se os
+     * valores persistidos estavam divergentes. Carrega a coleção de itens.
+     */
+    public boolean reconcileTotals() {
+        double expected = items.stream()
                 .mapToDouble(ComandaItem::getLineTotal)
                 .sum();
-        double withPercentageDiscount = sub - (sub * ((discountPercent == null ? 0.0 : discountPercent) / 100.0));
-        return Math.max(0.0, withPercentageDiscount - (discountAmount == null ? 0.0 : discountAmount));
+        boolean drifted = Math.abs(expected - getSubtotal()) > 0.000001;
+        this.subtotal = expected;
+        updateTotal();
+        return drifted;
+    }
+
+    public double getTotal() {
+        return total == null ? 0.0 : total;
     }
 
     public double getSubtotal() {
-        return items.stream()
-                .mapToDouble(ComandaItem::getLineTotal)
-                .sum();
+        return subtotal == null ? 0.0 : subtotal;
+    }
+
+    private void indexItems() {
+        if (itemsByProductId != null) {
+            return;
+        }
+        this.itemsByProductId = new HashMap<>(Math.max(16, items.size() * 2));
+        this.itemsById = new HashMap<>(Math.max(16, items.size() * 2));
+        this.itemsWithoutId = false;
+        for (ComandaItem item : items) {
+            index(item);
+        }
+    }
+
+    private void index(ComandaItem item) {
+        itemsByProductId.put(item.getProduct().getId(), item);
+        if (item.getId() != null) {
+            itemsById.put(item.getId(), item);
+        } else {
+            itemsWithoutId = true;
+        }
+    }
+
+    private void updateTotal() {
+        double sub = getSubtotal();
+        double withPercentageDiscount = sub - (sub * ((discountPercent == null ? 0.0 : discountPercent) / 100.0));
+        this.total = Math.max(0.0, withPercentageDiscount - (discountAmount == null ? 0.0 : discountAmount));
     }
 }
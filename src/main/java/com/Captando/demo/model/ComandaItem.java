@@ -5,12 +5,14 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 public class ComandaItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comanda_item_seq")
+    @SequenceGenerator(name = "comanda_item_seq", sequenceName = "comanda_item_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -19,6 +21,7 @@ public class ComandaItem {
     @ManyToOne
     private Comanda comanda;
 
+    private String productName;
     private Integer quantity;
     private Double unitPrice;
 
@@ -31,6 +34,11 @@ public class ComandaItem {
         this.unitPrice = unitPrice;
     }
 
+    public ComandaItem(Product product, String productName, Integer quantity, Double unitPrice) {
+        this(product, quantity, unitPrice);
+        this.productName = productName;
+    }
+
     public Long getId() {
         return id;
     }
@@ -43,6 +51,14 @@ public class ComandaItem {
         this.product = product;
     }
 
+    public String getProductName() {
+        return productName != null ? productName : product.getName();
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
     public Comanda getComanda() {
         return comanda;
     }
@@ -1,24 +1,32 @@
 package com.Captando.demo.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "product")
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String description;
     private double price;
     private String category;
     private int stockQuantity;
+    @Column(updatable = false)
+    private int reservedQuantity;
     private boolean active = true;
+    @Version
+    private Long version;
 
     public Product() {
     }
@@ -34,6 +42,10 @@ public class Product {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -78,6 +90,14 @@ public class Product {
         this.stockQuantity = stockQuantity;
     }
 
+    public int getReservedQuantity() {
+        return reservedQuantity;
+    }
+
+    public int getAvailableQuantity() {
+        return stockQuantity - reservedQuantity;
+    }
+
     public boolean isActive() {
         return active;
     }
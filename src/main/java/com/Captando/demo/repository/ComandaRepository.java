@@ -1,8 +1,66 @@
 package com.Captando.demo.repository;
 
+import com.Captando.demo.dto.ComandaSummaryResponse;
 import com.Captando.demo.model.Comanda;
+import com.Captando.demo.model.ComandaStatus;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface ComandaRepository extends JpaRepository<Comanda, Long> {
-}
+public interface ComandaRepository extends JpaRepository<Comanda, Long>, JpaSpecificationExecutor<Comanda> {
+
+    /**
+     * Página apenas de ids. Paginar sobre a entidade com fetch join de coleção
+     * faria o Hibernate paginar em memória, por isso a listagem é feita em duas etapas.
+     */
+    @Query(value = "select c.id from Comanda c", countQuery = "select count(c) from Comanda c")
+    Page<Long> findPageIds(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "items", "items.product"})
+    @Query("select distinct c from Comanda c where c.id in :ids")
+    List<Comanda> findAllWithItemsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"customer", "items", "items.product"})
+    @Query("select c from Comanda c where c.id = :id")
+    Optional<Comanda> findWithItemsById(Long id);
+
+    @Query("select c.version from Comanda c where c.id = :id")
+    Optional<Long> findVersionById(Long id);
 
+    @Query(value = "select new com.Captando.demo.dto.ComandaSummaryResponse("
+            + "c.id, c.customerName, c.customer.id, cast(c.status as String), c.total) from Comanda c",
+            countQuery = "select count(c) from Comanda c")
+    Page<ComandaSummaryResponse> findSummaries(Pageable pageable);
+
+    long countByStatus(ComandaStatus status);
+
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    @Query("select c from Comanda c where c.status = com.Captando.demo.model.ComandaStatus.ABERTA "
+            + "and coalesce(c.updatedAt, c.createdAt) < :inactiveSince")
+    List<Comanda> findOpenInactiveSince(LocalDateTime inactiveSince);
+
+    /**
+     * Cursor somente-leitura sobre as comandas encerradas no intervalo, para exportação.
+     * Os itens não são carregados (os totais já estão na comanda); o chamador deve
+     * consumir o stream dentro de uma transação e limpar a sessão periodicamente.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Comanda c left join fetch c.customer "
+            + "where c.closedAt >= :from and c.closedAt < :to and (:status is null or c.status = :status) "
+            + "order by c.closedAt, c.id")
+    Stream<Comanda> streamClosedBetween(LocalDateTime from, LocalDateTime to, ComandaStatus status);
+}
@@ -1,11 +1,56 @@
 package com.Captando.demo.repository;
 
+import com.Captando.demo.dto.ProductVersion;
 import com.Captando.demo.model.Product;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+/**
+ * Os UPDATEs de estoque que mudam o que o produto expõe (estoque) incrementam a
+ * versão, como faria o lock otimista do Hibernate; reservar e liberar mexem só na
+ * quantidade reservada, que não aparece na resposta nem é gravada pela entidade.
+ */
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
-    Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.stockQuantity = p.stockQuantity + :delta, p.version = p.version + 1 "
+            + "where p.id = :id and p.stockQuantity + :delta >= p.reservedQuantity "
+            + "and (:expectedVersion is null or p.version = :expectedVersion)")
+    int adjustStock(Long id, int delta, Long expectedVersion);
+
+    /**
+     * Grava o novo estoque só se ele ainda cobre o que está reservado. O UPDATE trava
+     * a linha até o commit: uma reserva concorrente espera e é avaliada contra o novo
+     * estoque. Não mexe na versão, que é incrementada pelo flush da entidade.
+     */
+    @Modifying
+    @Query("update Product p set p.stockQuantity = :stockQuantity "
+            + "where p.id = :id and p.reservedQuantity <= :stockQuantity")
+    int setStockIfCoversReserved(Long id, int stockQuantity);
+
+    @Query("select new com.Captando.demo.dto.ProductVersion(p.id, p.version) from Product p where p.id in :ids")
+    List<ProductVersion> findVersionsByIdIn(Collection<Long> ids);
+
+    @Query("select p.reservedQuantity from Product p where p.id = :id")
+    Optional<Integer> findReservedQuantity(Long id);
+
+    @Modifying
+    @Query("update Product p set p.reservedQuantity = p.reservedQuantity + :quantity "
+            + "where p.id = :id and p.stockQuantity - p.reservedQuantity >= :quantity")
+    int reserveStock(Long id, int quantity);
+
+    @Modifying
+    @Query("update Product p set p.reservedQuantity = p.reservedQuantity - :quantity "
+            + "where p.id = :id and p.reservedQuantity >= :quantity")
+    int releaseStock(Long id, int quantity);
+
+    @Modifying
+    @Query("update Product p set p.stockQuantity = p.stockQuantity - :quantity, "
+            + "p.reservedQuantity = p.reservedQuantity - :quantity, p.version = p.version + 1 "
+            + "where p.id = :id and p.reservedQuantity >= :quantity and p.stockQuantity >= :quantity")
+    int commitReservedStock(Long id, int quantity);
 }
@@ -0,0 +1,225 @@
+package com.Captando.demo.repository;
+
+import com.Captando.demo.dto.CategorySalesResponse;
+import com.Captando.demo.dto.ProductSalesResponse;
+import com.Captando.demo.dto.SalesBucketResponse;
+import java.sql.BatchUpdateException;
+import java.sql.DatabaseMetaData;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Acesso às tabelas de agregados de vendas por hora. As gravações são incrementos
+ * (upsert somando ao bucket existente) e rodam na mesma transação JPA do checkout,
+ * já que o JdbcTemplate usa a mesma conexão. Cada bucket é dividido em
+ * {@code stripe}s, e as leituras somam todas elas.
+ */
+@Repository
+public class SalesRollupRepository {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String MERGE_PAYMENT = """
+            merge into sales_rollup_payment t
+            using (select cast(? as timestamp(6)) bucket_hour, cast(? as varchar(20)) payment_method,
+                          cast(? as smallint) stripe, cast(? as bigint) comandas, cast(? as float(53)) subtotal,
+                          cast(? as float(53)) discount, cast(? as float(53)) total) s
+            on t.bucket_hour = s.bucket_hour and t.payment_method = s.payment_method and t.stripe = s.stripe
+            when matched then update set comandas = t.comandas + s.comandas, subtotal = t.subtotal + s.subtotal,
+                                         discount = t.discount + s.discount, total = t.total + s.total
+            when not matched then insert (bucket_hour, payment_method, stripe, comandas, subtotal, discount, total)
+                                  values (s.bucket_hour, s.payment_method, s.stripe, s.comandas, s.subtotal,
+                                          s.discount, s.total)
+            """;
+
+    private static final String MERGE_PRODUCT = """
+            merge into sales_rollup_product t
+            using (select cast(? as timestamp(6)) bucket_hour, cast(? as bigint) product_id,
+                          cast(? as varchar(20)) payment_method, cast(? as smallint) stripe,
+                          cast(? as varchar(255)) product_name, cast(? as varchar(255)) category,
+                          cast(? as bigint) quantity, cast(? as float(53)) revenue) s
+            on t.bucket_hour = s.bucket_hour and t.product_id = s.product_id and t.payment_method = s.payment_method
+               and t.stripe = s.stripe
+            when matched then update set quantity = t.quantity + s.quantity, revenue = t.revenue + s.revenue,
+                                         product_name = s.product_name, category = s.category
+            when not matched then insert (bucket_hour, product_id, payment_method, stripe, product_name, category,
+                                          quantity, revenue)
+                                  values (s.bucket_hour, s.product_id, s.payment_method, s.stripe, s.product_name,
+                                          s.category, s.quantity, s.revenue)
+            """;
+
+    private static final String UPSERT_PAYMENT_MYSQL = """
+            insert into sales_rollup_payment (bucket_hour, payment_method, stripe, comandas, subtotal, discount, total)
+            values (?, ?, ?, ?, ?, ?, ?)
+            on duplicate key update comandas = comandas + values(comandas), subtotal = subtotal + values(subtotal),
+                                    discount = discount + values(discount), total = total + values(total)
+            """;
+
+    private static final String UPSERT_PRODUCT_MYSQL = """
+            insert into sales_rollup_product (bucket_hour, product_id, payment_method, stripe, product_name, category,
+                                              quantity, revenue)
+            values (?, ?, ?, ?, ?, ?, ?, ?)
+            on duplicate key update quantity = quantity + values(quantity), revenue = revenue + values(revenue),
+                                    product_name = values(product_name), category = values(category)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsertPayment;
+    private final String upsertProduct;
+
+    public SalesRollupRepository(JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        String database = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName);
+        boolean mysql = database.startsWith("MySQL") || database.startsWith("MariaDB");
+        this.upsertPayment = mysql ? UPSERT_PAYMENT_MYSQL : MERGE_PAYMENT;
+        this.upsertProduct = mysql ? UPSERT_PRODUCT_MYSQL : MERGE_PRODUCT;
+    }
+
+    public void addPayment(LocalDateTime bucketHour, String paymentMethod, int stripe, long comandas,
+                           double subtotal, double discount, double total) {
+        upsert(upsertPayment, new Object[] {Timestamp.valueOf(bucketHour), paymentMethod, stripe, comandas,
+                subtotal, discount, total});
+    }
+
+    public void addProducts(LocalDateTime bucketHour, String paymentMethod, int stripe,
+                            List<ProductSalesResponse> products) {
+        Timestamp bucket = Timestamp.valueOf(bucketHour);
+        List<Object[]> rows = new ArrayList<>(products.size());
+        for (ProductSalesResponse product : products) {
+            rows.add(new Object[] {bucket, product.getProductId(), paymentMethod, stripe, product.getProductName(),
+                    product.getCategory(), product.getQuantity(), product.getRevenue()});
+        }
+        try {
+            jdbcTemplate.batchUpdate(upsertProduct, rows);
+        } catch (DuplicateKeyException ex) {
+            for (int row : failedRows(ex, rows.size())) {
+                upsert(upsertProduct, rows.get(row));
+            }
+        }
+    }
+
+    /**
+     * Dois checkouts podem criar o mesmo bucket ao mesmo tempo; no H2 o {@code MERGE}
+     * de quem perde falha com chave duplicada e, repetido, encontra a linha e soma nela.
+     */
+    private void upsert(String sql, Object[] args) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.update(sql, args);
+                return;
+            } catch (DuplicateKeyException ex) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /** O lote continua após uma falha; só as linhas marcadas como falhas precisam ser repetidas. */
+    private static List<Integer> failedRows(DuplicateKeyException ex, int rows) {
+        Throwable cause = ex.getCause();
+        while (cause != null && !(cause instanceof BatchUpdateException)) {
+            cause = cause.getCause();
+        }
+        if (cause == null) {
+            throw ex;
+        }
+        int[] counts = ((BatchUpdateException) cause).getUpdateCounts();
+        List<Integer> failed = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            if (row >= counts.length || counts[row] == Statement.EXECUTE_FAILED) {
+                failed.add(row);
+            }
+        }
+        return failed;
+    }
+
+    public List<SalesBucketResponse> totalsByPaymentMethod(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query("""
+                select payment_method, sum(comandas), sum(subtotal), sum(discount), sum(total)
+                from sales_rollup_payment
+                where bucket_hour >= ? and bucket_hour < ?
+                group by payment_method
+                order by sum(total) desc
+                """, (rs, rowNum) -> new SalesBucketResponse(rs.getString(1), rs.getLong(2), rs.getDouble(3),
+                rs.getDouble(4), rs.getDouble(5)), Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    public List<SalesBucketResponse> totalsByDay(LocalDateTime from, LocalDateTime to, String paymentMethod) {
+        return totalsBy("cast(bucket_hour as date)", from, to, paymentMethod);
+    }
+
+    public List<SalesBucketResponse> totalsByHour(LocalDateTime from, LocalDateTime to, String paymentMethod) {
+        return totalsBy("bucket_hour", from, to, paymentMethod);
+    }
+
+    private List<SalesBucketResponse> totalsBy(String bucket, LocalDateTime from, LocalDateTime to, String paymentMethod) {
+        Filter filter = new Filter(from, to).and("payment_method", paymentMethod);
+        return jdbcTemplate.query("select " + bucket + ", sum(comandas), sum(subtotal), sum(discount), sum(total)"
+                        + " from sales_rollup_payment" + filter.where() + " group by 1 order by 1",
+                (rs, rowNum) -> {
+                    Object key = rs.getObject(1);
+                    return new SalesBucketResponse(key instanceof Timestamp hour ? hour.toLocalDateTime().toString()
+                            : key.toString(), rs.getLong(2), rs.getDouble(3), rs.getDouble(4), rs.getDouble(5));
+                },
+                filter.args());
+    }
+
+    public List<ProductSalesResponse> topProducts(LocalDateTime from, LocalDateTime to, String paymentMethod,
+                                                  String category, boolean byRevenue, int limit) {
+        Filter filter = new Filter(from, to).and("payment_method", paymentMethod).and("category", category);
+        return jdbcTemplate.query("select product_id, max(product_name), max(category), sum(quantity), sum(revenue)"
+                        + " from sales_rollup_product" + filter.where()
+                        + " group by product_id order by " + (byRevenue ? "sum(revenue)" : "sum(quantity)")
+                        + " desc, product_id limit ?",
+                (rs, rowNum) -> new ProductSalesResponse(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getLong(4), rs.getDouble(5)),
+                filter.args(limit));
+    }
+
+    public List<CategorySalesResponse> totalsByCategory(LocalDateTime from, LocalDateTime to, String paymentMethod) {
+        Filter filter = new Filter(from, to).and("payment_method", paymentMethod);
+        return jdbcTemplate.query("select category, sum(quantity), sum(revenue) from sales_rollup_product"
+                        + filter.where() + " group by category order by sum(revenue) desc",
+                (rs, rowNum) -> new CategorySalesResponse(rs.getString(1), rs.getLong(2), rs.getDouble(3)),
+                filter.args());
+    }
+
+    /** Período e filtros opcionais montados em Java, sem depender de {@code cast(? ...) is null} do H2. */
+    private static final class Filter {
+        private final StringBuilder where = new StringBuilder(" where bucket_hour >= ? and bucket_hour < ?");
+        private final List<Object> args = new ArrayList<>();
+
+        private Filter(LocalDateTime from, LocalDateTime to) {
+            args.add(Timestamp.valueOf(from));
+            args.add(Timestamp.valueOf(to));
+        }
+
+        private Filter and(String column, String value) {
+            if (value != null) {
+                where.append(" and ").append(column).append(" = ?");
+                args.add(value);
+            }
+            return this;
+        }
+
+        private String where() {
+            return where.toString();
+        }
+
+        private Object[] args(Object... trailing) {
+            List<Object> all = new ArrayList<>(args);
+            all.addAll(List.of(trailing));
+            return all.toArray();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.Captando.demo.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AbandonedComandaSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(AbandonedComandaSweeper.class);
+
+    private final ComandaService comandaService;
+    private final Duration timeout;
+
+    public AbandonedComandaSweeper(ComandaService comandaService,
+                                   @Value("${mercado.reservation.timeout:PT6H}") Duration timeout) {
+        this.comandaService = comandaService;
+        this.timeout = timeout;
+    }
+
+    @Scheduled(fixedDelayString = "${mercado.reservation.sweep-interval:PT5M}")
+    public void cancelAbandonedComandas() {
+        int cancelled = comandaService.cancelAbandoned(LocalDateTime.now().minus(timeout));
+        if (cancelled > 0) {
+            log.info("{} comanda(s) abertas sem movimento há mais de {} canceladas e reservas liberadas", cancelled, timeout);
+        }
+    }
+}
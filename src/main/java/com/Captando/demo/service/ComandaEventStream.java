@@ -0,0 +1,325 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.ComandaEvent;
+import com.Captando.demo.dto.ComandaResponse;
+import com.Captando.demo.model.ComandaStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Distribui as alterações de comandas por SSE. Os eventos são montados a partir da
+ * resposta que o serviço já calculou e publicados depois do commit, então seguir
+ * uma comanda não gera consulta ao banco.
+ *
+ * <p>Cada inscrito tem uma fila limitada a {@code mercado.comanda-stream.buffer-size}
+ * eventos, esvaziada por uma thread de envio criada sob demanda: quem publica nunca
+ * espera por um cliente lento, e um envio bloqueado só segura o próprio inscrito. O
+ * pool vai até {@code mercado.comanda-stream.max-subscribers}, o mesmo limite de
+ * conexões aceitas. Com a fila cheia o evento mais antigo é descartado
+ * e o cliente recebe um evento {@code resync} com a quantidade perdida antes do
+ * próximo, para buscar o estado atual com {@code GET /comandas/{id}}.
+ */
+@Component
+public class ComandaEventStream {
+
+    private static final Logger log = LoggerFactory.getLogger(ComandaEventStream.class);
+    private static final Object HEARTBEAT = new Object();
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final ThreadPoolExecutor sender;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Set<Subscriber> allComandas = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> byComanda = new ConcurrentHashMap<>();
+    private final Counter publishedEvents;
+    private final Counter droppedEvents;
+
+    public ComandaEventStream(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${mercado.comanda-stream.sse-timeout:PT30M}") Duration timeout,
+                              @Value("${mercado.comanda-stream.buffer-size:64}") int bufferSize,
+                              @Value("${mercado.comanda-stream.max-subscribers:1000}") int maxSubscribers) {
+        if (maxSubscribers < 1) {
+            throw new IllegalArgumentException("mercado.comanda-stream.max-subscribers deve ser maior que zero");
+        }
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(0, maxSubscribers, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "comanda-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("mercado.comanda.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Clientes conectados aos streams de comandas")
+                .register(meterRegistry);
+        this.publishedEvents = Counter.builder("mercado.comanda.stream.events")
+                .description("Eventos de comanda publicados")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("mercado.comanda.stream.dropped")
+                .description("Eventos descartados por fila cheia de um cliente lento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inscreve um cliente em todas as comandas ({@code comandaId} nulo) ou em uma só.
+     * Quando {@code initial} é informado o estado é carregado depois da inscrição e
+     * enviado como primeiro evento; eventos que chegarem nesse intervalo com versão
+     * igual ou anterior à do snapshot são descartados.
+     */
+    public SseEmitter subscribe(Long comandaId, Supplier<ComandaResponse> initial) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new StreamCapacityException(maxSubscribers);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, comandaId, bufferSize);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(subscriber));
+
+        if (comandaId == null) {
+            allComandas.add(subscriber);
+        } else {
+            byComanda.computeIfAbsent(comandaId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        if (initial != null) {
+            ComandaResponse snapshot;
+            try {
+                snapshot = initial.get();
+            } catch (RuntimeException e) {
+                remove(subscriber);
+                throw e;
+            }
+            subscriber.snapshotVersion = snapshot.getVersion();
+            subscriber.snapshot = prepare(new ComandaEvent(ComandaEvent.Type.SNAPSHOT, snapshot.getId(),
+                    snapshot.getVersion(), Instant.now(), snapshot));
+        }
+        subscriber.ready = true;
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public void publishAfterCommit(ComandaEvent.Type type, ComandaResponse comanda) {
+        AfterCommit.run(() -> publish(new ComandaEvent(type, comanda.getId(), comanda.getVersion(), Instant.now(), comanda)));
+    }
+
+    public void deletedAfterCommit(Long comandaId) {
+        AfterCommit.run(() -> publish(new ComandaEvent(ComandaEvent.Type.DELETED, comandaId, null, Instant.now(), null)));
+    }
+
+    @Scheduled(fixedRateString = "${mercado.comanda-stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        allComandas.forEach(this::heartbeat);
+        byComanda.values().forEach(subscribers -> subscribers.forEach(this::heartbeat));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void publish(ComandaEvent event) {
+        Set<Subscriber> followers = byComanda.get(event.getComandaId());
+        if (allComandas.isEmpty() && followers == null) {
+            return;
+        }
+        publishedEvents.increment();
+        // Serializa uma vez só, independentemente do número de inscritos.
+        PreparedEvent prepared = prepare(event);
+        if (prepared == null) {
+            return;
+        }
+        allComandas.forEach(subscriber -> deliver(subscriber, prepared));
+        if (followers != null) {
+            followers.forEach(subscriber -> deliver(subscriber, prepared));
+        }
+    }
+
+    private PreparedEvent prepare(ComandaEvent event) {
+        try {
+            boolean last = event.getType() == ComandaEvent.Type.DELETED
+                    || (event.getComanda() != null && !ComandaStatus.ABERTA.name().equals(event.getComanda().getStatus()));
+            return new PreparedEvent(sequence.incrementAndGet(), event.getType().name(), event.getVersion(),
+                    objectMapper.writeValueAsString(event), last);
+        } catch (JsonProcessingException e) {
+            log.error("Falha ao serializar evento da comanda {}", event.getComandaId(), e);
+            return null;
+        }
+    }
+
+    private void deliver(Subscriber subscriber, PreparedEvent event) {
+        int dropped = subscriber.offer(event);
+        if (dropped > 0) {
+            droppedEvents.increment(dropped);
+        }
+        schedule(subscriber);
+    }
+
+    private void heartbeat(Subscriber subscriber) {
+        // Só quando a fila está vazia: havendo eventos pendentes eles já mantêm a conexão viva.
+        if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.ready && !subscriber.closed.get() && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Pool no limite por um instante (threads ainda voltando): o próximo evento ou batimento reagenda.
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            PreparedEvent snapshot = subscriber.snapshot;
+            if (snapshot != null) {
+                subscriber.snapshot = null;
+                send(subscriber, snapshot);
+            }
+            Object item;
+            while (!subscriber.closed.get() && (item = subscriber.queue.poll()) != null) {
+                if (item == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                    continue;
+                }
+                long missed = subscriber.missed.getAndSet(0);
+                if (missed > 0) {
+                    subscriber.emitter.send(SseEmitter.event().name("resync").data("{\"missed\":" + missed + "}",
+                            MediaType.APPLICATION_JSON));
+                }
+                PreparedEvent event = (PreparedEvent) item;
+                if (event.version != null && subscriber.snapshotVersion != null
+                        && event.version <= subscriber.snapshotVersion) {
+                    // Publicado enquanto o snapshot era carregado e já refletido nele.
+                    continue;
+                }
+                send(subscriber, event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: o container encerra a requisição assíncrona.
+            remove(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+            if (!subscriber.queue.isEmpty()) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber, PreparedEvent event) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.id))
+                .name(event.name)
+                .data(event.json, MediaType.APPLICATION_JSON));
+        if (event.last && subscriber.comandaId != null) {
+            // Comanda encerrada ou removida: não haverá mais eventos para este inscrito.
+            subscriber.emitter.complete();
+            remove(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (subscriber.comandaId == null) {
+            allComandas.remove(subscriber);
+        } else {
+            byComanda.computeIfPresent(subscriber.comandaId, (id, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+        subscriber.queue.clear();
+        subscriberCount.decrementAndGet();
+    }
+
+    private static final class PreparedEvent {
+        private final long id;
+        private final String name;
+        private final Long version;
+        private final String json;
+        private final boolean last;
+
+        private PreparedEvent(long id, String name, Long version, String json, boolean last) {
+            this.id = id;
+            this.name = name;
+            this.version = version;
+            this.json = json;
+            this.last = last;
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long comandaId;
+        private final ArrayBlockingQueue<Object> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong missed = new AtomicLong();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile PreparedEvent snapshot;
+        private volatile Long snapshotVersion;
+        private volatile boolean ready;
+
+        private Subscriber(SseEmitter emitter, Long comandaId, int bufferSize) {
+            this.emitter = emitter;
+            this.comandaId = comandaId;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Enfileira descartando os itens mais antigos enquanto não houver espaço.
+         * Devolve quantos eventos foram perdidos (batimentos não contam).
+         */
+        private synchronized int offer(PreparedEvent event) {
+            if (event == null || closed.get()) {
+                return 0;
+            }
+            int dropped = 0;
+            while (!queue.offer(event)) {
+                Object oldest = queue.poll();
+                if (oldest != null && oldest != HEARTBEAT) {
+                    dropped++;
+                }
+            }
+            missed.addAndGet(dropped);
+            return dropped;
+        }
+    }
+}
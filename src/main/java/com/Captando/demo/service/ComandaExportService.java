@@ -0,0 +1,144 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.ComandaExportRow;
+import com.Captando.demo.model.Comanda;
+import com.Captando.demo.model.ComandaStatus;
+import com.Captando.demo.repository.ComandaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Exportação das comandas encerradas em um período, escrita linha a linha a partir
+ * de um único SELECT com cursor. A sessão é limpa a cada {@value #CLEAR_INTERVAL}
+ * comandas para que a memória não cresça com o tamanho do período.
+ */
+@Service
+public class ComandaExportService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ComandaExportService.class);
+    private static final int CLEAR_INTERVAL = 1000;
+    private static final String CSV_HEADER = "id,customerName,customerId,status,paymentMethod,createdAt,closedAt,"
+            + "subtotal,discountPercent,discountAmount,total";
+
+    private final ComandaRepository comandaRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public ComandaExportService(ComandaRepository comandaRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.comandaRepository = comandaRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime from, LocalDateTime to, ComandaStatus status, Format format, OutputStream output)
+            throws IOException {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from deve ser anterior a to");
+        }
+
+        long start = System.nanoTime();
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<Comanda> comandas = comandaRepository.streamClosedBetween(from, to, status)) {
+            Iterator<Comanda> iterator = comandas.iterator();
+            while (iterator.hasNext()) {
+                ComandaExportRow row = toRow(iterator.next());
+                if (format == Format.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exportação de comandas {} a {}: {} linhas em {} ms", from, to, count,
+                (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    private static ComandaExportRow toRow(Comanda comanda) {
+        return new ComandaExportRow(
+                comanda.getId(),
+                comanda.getCustomerName(),
+                comanda.getCustomer() == null ? null : comanda.getCustomer().getId(),
+                comanda.getStatus().name(),
+                comanda.getPaymentMethod() == null ? null : comanda.getPaymentMethod().name(),
+                comanda.getCreatedAt(),
+                comanda.getClosedAt(),
+                comanda.getSubtotal(),
+                comanda.getDiscountPercent(),
+                comanda.getDiscountAmount(),
+                comanda.getTotal()
+        );
+    }
+
+    private static void writeCsv(Writer writer, ComandaExportRow row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(csvText(row.getCustomerName()));
+        writer.write(',');
+        writer.write(row.getCustomerId() == null ? "" : row.getCustomerId().toString());
+        writer.write(',');
+        writer.write(row.getStatus());
+        writer.write(',');
+        writer.write(row.getPaymentMethod() == null ? "" : row.getPaymentMethod());
+        writer.write(',');
+        writer.write(row.getCreatedAt() == null ? "" : row.getCreatedAt().toString());
+        writer.write(',');
+        writer.write(row.getClosedAt() == null ? "" : row.getClosedAt().toString());
+        writer.write(',');
+        writer.write(csvNumber(row.getSubtotal()));
+        writer.write(',');
+        writer.write(csvNumber(row.getDiscountPercent()));
+        writer.write(',');
+        writer.write(csvNumber(row.getDiscountAmount()));
+        writer.write(',');
+        writer.write(csvNumber(row.getTotal()));
+        writer.write('\n');
+    }
+
+    private static String csvText(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String csvNumber(Double value) {
+        return value == null ? "" : BigDecimal.valueOf(value).toPlainString();
+    }
+}
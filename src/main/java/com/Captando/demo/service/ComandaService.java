@@ -3,24 +3,64 @@ package com.Captando.demo.service;
 import com.Captando.demo.dto.AddComandaItemRequest;
 import com.Captando.demo.dto.ApplyComandaDiscountRequest;
 import com.Captando.demo.dto.ComandaCheckoutRequest;
+import com.Captando.demo.dto.ComandaItemResponse;
 import com.Captando.demo.dto.ComandaResponse;
+import com.Captando.demo.dto.ComandaSummaryResponse;
 import com.Captando.demo.dto.CreateComandaRequest;
+import com.Captando.demo.dto.CursorPageResponse;
+import com.Captando.demo.model.Comanda;
+import com.Captando.demo.model.ComandaStatus;
 import com.Captando.demo.model.PaymentMethod;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ComandaService {
     Page<ComandaResponse> findAll(Pageable pageable);
+    Page<ComandaSummaryResponse> findSummaries(Pageable pageable);
+    CursorPageResponse<ComandaResponse> findAfter(ComandaStatus status, String after, int size, Sort.Order order);
     ComandaResponse findById(Long id);
+    Long findVersion(Long id);
     ComandaResponse create(CreateComandaRequest request);
     ComandaResponse addItem(Long id, AddComandaItemRequest request);
+    ComandaResponse addItems(Long id, List<AddComandaItemRequest> requests);
     ComandaResponse removeItem(Long comandaId, Long itemId);
-    ComandaResponse applyDiscount(Long id, ApplyComandaDiscountRequest request);
-    ComandaResponse checkout(Long id, ComandaCheckoutRequest request);
-    ComandaResponse close(Long id);
-    ComandaResponse setPaymentMethod(Long id, PaymentMethod paymentMethod);
+    ComandaResponse applyDiscount(Long id, ApplyComandaDiscountRequest request, Long expectedVersion);
+    ComandaResponse checkout(Long id, ComandaCheckoutRequest request, Long expectedVersion);
+    ComandaResponse close(Long id, Long expectedVersion);
+    ComandaResponse setPaymentMethod(Long id, PaymentMethod paymentMethod, Long expectedVersion);
     List<String> availablePaymentMethods();
     void delete(Long id);
-}
+    int cancelAbandoned(LocalDateTime inactiveSince);
+
+    static ComandaResponse toResponse(Comanda comanda) {
+        List<ComandaItemResponse> itemDtos = comanda.getItems().stream()
+                .map(item -> new ComandaItemResponse(
+                        item.getId(),
+                        item.getProduct().getId(),
+                        item.getProductName(),
+                        item.getQuantity(),
+                        item.getUnitPrice(),
+                        item.getLineTotal()
+                ))
+                .toList();
 
+        return new ComandaResponse(
+                comanda.getId(),
+                comanda.getCustomerName(),
+                comanda.getCustomer() != null ? comanda.getCustomer().getId() : null,
+                comanda.getStatus().name(),
+                comanda.getCreatedAt(),
+                comanda.getClosedAt(),
+                comanda.getSubtotal(),
+                comanda.getDiscountPercent(),
+                comanda.getDiscountAmount(),
+                comanda.getTotal(),
+                comanda.getPaymentMethod() != null ? comanda.getPaymentMethod().name() : null,
+                itemDtos,
+                comanda.getVersion()
+        );
+    }
+}
@@ -2,10 +2,13 @@ package com.Captando.demo.service;
 
 import com.Captando.demo.dto.AddComandaItemRequest;
 import com.Captando.demo.dto.ApplyComandaDiscountRequest;
+import com.Captando.demo.dto.ComandaEvent;
 import com.Captando.demo.dto.ComandaCheckoutRequest;
-import com.Captando.demo.dto.ComandaItemResponse;
 import com.Captando.demo.dto.ComandaResponse;
+import com.Captando.demo.dto.ComandaSummaryResponse;
 import com.Captando.demo.dto.CreateComandaRequest;
+import com.Captando.demo.dto.CursorPageResponse;
+import com.Captando.demo.dto.ProductResponse;
 import com.Captando.demo.model.Comanda;
 import com.Captando.demo.model.ComandaItem;
 import com.Captando.demo.model.ComandaStatus;
@@ -16,40 +19,107 @@ import com.Captando.demo.repository.ComandaRepository;
 import com.Captando.demo.repository.CustomerRepository;
 import com.Captando.demo.repository.ProductRepository;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ComandaServiceImpl implements ComandaService {
 
+    private static final Logger log = LoggerFactory.getLogger(ComandaServiceImpl.class);
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("id", "createdAt", "total");
+
     private final ComandaRepository comandaRepository;
     private final ProductRepository productRepository;
     private final CustomerRepository customerRepository;
+    private final ProductCache productCache;
+    private final StockReservationService stockReservationService;
+    private final SalesReportService salesReportService;
+    private final LiveSalesMetrics liveSalesMetrics;
+    private final ComandaEventStream comandaEvents;
 
     public ComandaServiceImpl(ComandaRepository comandaRepository,
                               ProductRepository productRepository,
-                              CustomerRepository customerRepository) {
+                              CustomerRepository customerRepository,
+                              ProductCache productCache,
+                              StockReservationService stockReservationService,
+                              SalesReportService salesReportService,
+                              LiveSalesMetrics liveSalesMetrics,
+                              ComandaEventStream comandaEvents) {
         this.comandaRepository = comandaRepository;
         this.productRepository = productRepository;
         this.customerRepository = customerRepository;
+        this.productCache = productCache;
+        this.stockReservationService = stockReservationService;
+        this.salesReportService = salesReportService;
+        this.liveSalesMetrics = liveSalesMetrics;
+        this.comandaEvents = comandaEvents;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ComandaResponse> findAll(Pageable pageable) {
-        return comandaRepository.findAll(pageable).map(this::toResponse);
+        Page<Long> ids = comandaRepository.findPageIds(pageable);
+        Map<Long, Comanda> byId = ids.isEmpty()
+                ? Map.of()
+                : comandaRepository.findAllWithItemsByIdIn(ids.getContent()).stream()
+                        .collect(Collectors.toMap(Comanda::getId, Function.identity()));
+        return ids.map(id -> ComandaService.toResponse(byId.get(id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ComandaSummaryResponse> findSummaries(Pageable pageable) {
+        return comandaRepository.findSummaries(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ComandaResponse> findAfter(ComandaStatus status, String after, int size, Sort.Order order) {
+        int limit = KeysetCursor.size(size);
+        Sort sort = KeysetCursor.sort(order, CURSOR_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(after, Comanda.class, sort);
+        Specification<Comanda> spec = status == null
+                ? Specification.where(null)
+                : (root, query, cb) -> cb.equal(root.get("status"), status);
+
+        Window<Comanda> window = comandaRepository.findBy(spec, query -> query.sortBy(sort).limit(limit).scroll(position));
+        Map<Long, Comanda> byId = window.isEmpty()
+                ? Map.of()
+                : comandaRepository.findAllWithItemsByIdIn(window.map(Comanda::getId).getContent()).stream()
+                        .collect(Collectors.toMap(Comanda::getId, Function.identity()));
+        return KeysetCursor.toResponse(window, comanda -> ComandaService.toResponse(byId.get(comanda.getId())));
     }
 
     @Override
     @Transactional(readOnly = true)
     public ComandaResponse findById(Long id) {
-        return toResponse(comandaRepository.findById(id)
+        return ComandaService.toResponse(comandaRepository.findWithItemsById(id)
                 .orElseThrow(() -> new ComandaNotFoundException(id)));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Long findVersion(Long id) {
+        return comandaRepository.findVersionById(id)
+                .orElseThrow(() -> new ComandaNotFoundException(id));
+    }
+
     @Override
     @Transactional
     public ComandaResponse create(CreateComandaRequest request) {
@@ -59,79 +129,100 @@ public class ComandaServiceImpl implements ComandaService {
                     .orElseThrow(() -> new CustomerNotFoundException(request.getCustomerId()));
             comanda.setCustomer(customer);
         }
-        return toResponse(comandaRepository.save(comanda));
+        liveSalesMetrics.comandaOpenedAfterCommit();
+        return publish(ComandaEvent.Type.CREATED, comandaRepository.save(comanda));
     }
 
     @Override
     @Transactional
     public ComandaResponse addItem(Long id, AddComandaItemRequest request) {
-        Comanda comanda = findOpenComanda(id);
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new ProductNotFoundException(request.getProductId()));
-
-        List<ComandaItem> existing = comanda.getItems().stream()
-                .filter(item -> item.getProduct().getId().equals(product.getId()))
-                .toList();
-
-        if (!existing.isEmpty()) {
-            ComandaItem item = existing.get(0);
-            item.setQuantity(item.getQuantity() + request.getQuantity());
-        } else {
-            ComandaItem item = new ComandaItem(product, request.getQuantity(), product.getPrice());
-            comanda.addItem(item);
+        return addItems(id, List.of(request));
+    }
+
+    @Override
+    @Transactional
+    public ComandaResponse addItems(Long id, List<AddComandaItemRequest> requests) {
+        Comanda comanda = findOpenComanda(id, null);
+
+        // Ordem crescente de id: os locks de produto são tomados sempre na mesma ordem.
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (AddComandaItemRequest request : requests) {
+            quantities.merge(request.getProductId(), request.getQuantity(), Integer::sum);
         }
-        return toResponse(comandaRepository.save(comanda));
+        Map<Long, ProductResponse> products = productCache.getAll(quantities.keySet(), this::loadProducts);
+
+        quantities.forEach((productId, quantity) -> {
+            ProductResponse product = products.get(productId);
+            ComandaItem existing = comanda.findItemByProductId(productId);
+            if (existing != null) {
+                comanda.changeItemQuantity(existing, existing.getQuantity() + quantity);
+            } else {
+                comanda.addItem(new ComandaItem(productRepository.getReferenceById(productId),
+                        product.getName(), quantity, product.getPrice()));
+            }
+            stockReservationService.reserve(productId, quantity);
+        });
+        return publish(ComandaEvent.Type.ITEMS_CHANGED, comandaRepository.saveAndFlush(comanda));
     }
 
     @Override
     @Transactional
     public ComandaResponse removeItem(Long comandaId, Long itemId) {
-        Comanda comanda = findOpenComanda(comandaId);
-        ComandaItem item = comanda.getItems().stream()
-                .filter(i -> i.getId().equals(itemId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Item não encontrado na comanda: " + itemId));
+        Comanda comanda = findOpenComanda(comandaId, null);
+        ComandaItem item = comanda.findItemById(itemId);
+        if (item == null) {
+            throw new IllegalArgumentException("Item não encontrado na comanda: " + itemId);
+        }
         comanda.removeItem(item);
-        return toResponse(comandaRepository.save(comanda));
+        stockReservationService.release(item.getProduct().getId(), item.getQuantity());
+        return publish(ComandaEvent.Type.ITEMS_CHANGED, comandaRepository.saveAndFlush(comanda));
     }
 
     @Override
     @Transactional
-    public ComandaResponse applyDiscount(Long id, ApplyComandaDiscountRequest request) {
-        Comanda comanda = findOpenComanda(id);
+    public ComandaResponse applyDiscount(Long id, ApplyComandaDiscountRequest request, Long expectedVersion) {
+        Comanda comanda = findOpenComanda(id, expectedVersion);
         comanda.setDiscountPercent(request.getDiscountPercent());
         comanda.setDiscountAmount(request.getDiscountAmount());
-        return toResponse(comandaRepository.save(comanda));
+        return publish(ComandaEvent.Type.UPDATED, comandaRepository.saveAndFlush(comanda));
     }
 
     @Override
     @Transactional
-    public ComandaResponse checkout(Long id, ComandaCheckoutRequest request) {
-        Comanda comanda = findOpenComanda(id);
+    public ComandaResponse checkout(Long id, ComandaCheckoutRequest request, Long expectedVersion) {
+        Comanda comanda = findOpenComanda(id, expectedVersion);
+        reconcileTotals(comanda);
+        stockReservationService.commitAll(comanda);
         comanda.setPaymentMethod(request.getPaymentMethod());
         comanda.setStatus(ComandaStatus.FECHADA);
         comanda.setClosedAt(LocalDateTime.now());
-        return toResponse(comandaRepository.save(comanda));
+        salesReportService.recordClosed(comanda);
+        liveSalesMetrics.comandaClosedAfterCommit(comanda.getTotal());
+        return publish(ComandaEvent.Type.CLOSED, comandaRepository.saveAndFlush(comanda));
     }
 
     @Override
     @Transactional
-    public ComandaResponse close(Long id) {
-        Comanda comanda = findOpenComanda(id);
+    public ComandaResponse close(Long id, Long expectedVersion) {
+        Comanda comanda = findOpenComanda(id, expectedVersion);
+        reconcileTotals(comanda);
+        stockReservationService.commitAll(comanda);
         if (comanda.getPaymentMethod() == null) {
             comanda.setPaymentMethod(PaymentMethod.CASH);
         }
         comanda.setStatus(ComandaStatus.FECHADA);
         comanda.setClosedAt(LocalDateTime.now());
-        return toResponse(comandaRepository.save(comanda));
+        salesReportService.recordClosed(comanda);
+        liveSalesMetrics.comandaClosedAfterCommit(comanda.getTotal());
+        return publish(ComandaEvent.Type.CLOSED, comandaRepository.saveAndFlush(comanda));
     }
 
     @Override
     @Transactional
-    public ComandaResponse setPaymentMethod(Long id, PaymentMethod paymentMethod) {
-        Comanda comanda = findOpenComanda(id);
+    public ComandaResponse setPaymentMethod(Long id, PaymentMethod paymentMethod, Long expectedVersion) {
+        Comanda comanda = findOpenComanda(id, expectedVersion);
         comanda.setPaymentMethod(paymentMethod);
-        return toResponse(comandaRepository.save(comanda));
+        return publish(ComandaEvent.Type.UPDATED, comandaRepository.saveAndFlush(comanda));
     }
 
     @Override
@@ -145,48 +236,68 @@ public class ComandaServiceImpl implements ComandaService {
     public void delete(Long id) {
         Comanda comanda = comandaRepository.findById(id)
                 .orElseThrow(() -> new ComandaNotFoundException(id));
+        if (comanda.getStatus() == ComandaStatus.ABERTA) {
+            stockReservationService.releaseAll(comanda);
+            liveSalesMetrics.comandasDiscardedAfterCommit(1);
+        }
+        salesReportService.revertClosed(comanda);
         comandaRepository.delete(comanda);
+        comandaEvents.deletedAfterCommit(id);
+    }
+
+    @Override
+    @Transactional
+    public int cancelAbandoned(LocalDateTime inactiveSince) {
+        List<Comanda> abandoned = comandaRepository.findOpenInactiveSince(inactiveSince);
+        for (Comanda comanda : abandoned) {
+            stockReservationService.releaseAll(comanda);
+            comanda.setStatus(ComandaStatus.CANCELADA);
+            comanda.setClosedAt(LocalDateTime.now());
+        }
+        comandaRepository.flush();
+        abandoned.forEach(comanda -> publish(ComandaEvent.Type.CANCELLED, comanda));
+        liveSalesMetrics.comandasDiscardedAfterCommit(abandoned.size());
+        return abandoned.size();
+    }
+
+    private ComandaResponse publish(ComandaEvent.Type type, Comanda comanda) {
+        ComandaResponse response = ComandaService.toResponse(comanda);
+        comandaEvents.publishAfterCommit(type, response);
+        return response;
+    }
+
+    private Map<Long, ProductResponse> loadProducts(Collection<Long> ids) {
+        Map<Long, ProductResponse> loaded = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            loaded.put(product.getId(), ProductService.toResponse(product));
+        }
+        for (Long id : ids) {
+            if (!loaded.containsKey(id)) {
+                throw new ProductNotFoundException(id);
+            }
+        }
+        return loaded;
     }
 
-    private Comanda findOpenComanda(Long id) {
+    private Comanda findOpenComanda(Long id, Long expectedVersion) {
         Comanda comanda = comandaRepository.findById(id)
                 .orElseThrow(() -> new ComandaNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(comanda.getVersion())) {
+            throw new PreconditionFailedException("Comanda", id, expectedVersion, comanda.getVersion());
+        }
         ensureOpen(comanda);
         return comanda;
     }
 
+    private void reconcileTotals(Comanda comanda) {
+        if (comanda.reconcileTotals()) {
+            log.warn("Totais da comanda {} divergiam dos itens e foram recalculados", comanda.getId());
+        }
+    }
+
     private void ensureOpen(Comanda comanda) {
         if (comanda.getStatus() != ComandaStatus.ABERTA) {
             throw new ComandaClosedException(comanda.getId());
         }
     }
-
-    private ComandaResponse toResponse(Comanda comanda) {
-        List<ComandaItemResponse> itemDtos = comanda.getItems().stream()
-                .map(item -> new ComandaItemResponse(
-                        item.getId(),
-                        item.getProduct().getId(),
-                        item.getProduct().getName(),
-                        item.getQuantity(),
-                        item.getUnitPrice(),
-                        item.getLineTotal()
-                ))
-                .toList();
-
-        return new ComandaResponse(
-                comanda.getId(),
-                comanda.getCustomerName(),
-                comanda.getCustomer() != null ? comanda.getCustomer().getId() : null,
-                comanda.getStatus().name(),
-                comanda.getCreatedAt(),
-                comanda.getClosedAt(),
-                comanda.getSubtotal(),
-                comanda.getDiscountPercent(),
-                comanda.getDiscountAmount(),
-                comanda.getTotal(),
-                comanda.getPaymentMethod() != null ? comanda.getPaymentMethod().name() : null,
-                itemDtos
-        );
-    }
 }
-
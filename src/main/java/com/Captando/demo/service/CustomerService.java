@@ -1,13 +1,16 @@
 package com.Captando.demo.service;
 
+import com.Captando.demo.dto.CursorPageResponse;
 import com.Captando.demo.dto.CustomerRequest;
 import com.Captando.demo.dto.CustomerResponse;
 import com.Captando.demo.model.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public interface CustomerService {
     Page<CustomerResponse> findAll(Pageable pageable);
+    CursorPageResponse<CustomerResponse> findAfter(String after, int size, Sort.Order order);
     CustomerResponse findById(Long id);
     CustomerResponse create(CustomerRequest request);
     CustomerResponse update(Long id, CustomerRequest request);
@@ -1,17 +1,25 @@
 package com.Captando.demo.service;
 
+import com.Captando.demo.dto.CursorPageResponse;
 import com.Captando.demo.dto.CustomerRequest;
 import com.Captando.demo.dto.CustomerResponse;
 import com.Captando.demo.model.Customer;
 import com.Captando.demo.repository.CustomerRepository;
+import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CustomerServiceImpl implements CustomerService {
 
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("id", "name");
+
     private final CustomerRepository repository;
 
     public CustomerServiceImpl(CustomerRepository repository) {
@@ -24,6 +32,17 @@ public class CustomerServiceImpl implements CustomerService {
         return repository.findAll(pageable).map(CustomerService::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CustomerResponse> findAfter(String after, int size, Sort.Order order) {
+        int limit = KeysetCursor.size(size);
+        Sort sort = KeysetCursor.sort(order, CURSOR_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(after, Customer.class, sort);
+        Window<Customer> window = repository.findBy(Specification.where(null),
+                query -> query.sortBy(sort).limit(limit).scroll(position));
+        return KeysetCursor.toResponse(window, CustomerService::toResponse);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public CustomerResponse findById(Long id) {
@@ -0,0 +1,134 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.CursorPageResponse;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cursor opaco para paginação por keyset: codifica em base64 os valores das
+ * chaves de ordenação (mais o id) do último registro entregue.
+ */
+final class KeysetCursor {
+
+    static final int MAX_SIZE = 500;
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Valida o tamanho da janela antes de chegar ao {@code limit} da consulta: zero
+     * traria todas as linhas (e, nas comandas, todos os ids em um só {@code IN}).
+     */
+    static int size(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size deve estar entre 1 e " + MAX_SIZE);
+        }
+        return size;
+    }
+
+    static Sort sort(Sort.Order order, Set<String> allowedProperties) {
+        if (!allowedProperties.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Ordenação por cursor não suportada para: " + order.getProperty()
+                    + ". Use um de: " + allowedProperties);
+        }
+        Sort sort = Sort.by(order);
+        return "id".equals(order.getProperty()) ? sort : sort.and(Sort.by(order.getDirection(), "id"));
+    }
+
+    static ScrollPosition decode(String cursor, Class<?> entityType, Sort sort) {
+        if (!StringUtils.hasText(cursor)) {
+            return ScrollPosition.keyset();
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String pair : decoded.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            String property = pair.substring(0, separator);
+            String value = URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            keys.put(property, convert(value, propertyType(entityType, property)));
+        }
+
+        Set<String> expected = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+        if (!keys.keySet().equals(expected)) {
+            throw new IllegalArgumentException("Cursor não corresponde à ordenação informada");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    static String encode(ScrollPosition position) {
+        StringBuilder builder = new StringBuilder();
+        ((KeysetScrollPosition) position).getKeys().forEach((property, value) -> {
+            if (!builder.isEmpty()) {
+                builder.append('&');
+            }
+            builder.append(property).append('=')
+                    .append(URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8));
+        });
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static <T, R> CursorPageResponse<R> toResponse(Window<T> window, Function<T, R> mapper) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encode(window.positionAt(window.size() - 1))
+                : null;
+        return new CursorPageResponse<>(
+                window.map(mapper).getContent(),
+                window.size(),
+                window.hasNext(),
+                nextCursor
+        );
+    }
+
+    private static Class<?> propertyType(Class<?> entityType, String property) {
+        var descriptor = BeanUtils.getPropertyDescriptor(entityType, property);
+        if (descriptor == null) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        return descriptor.getPropertyType();
+    }
+
+    private static Object convert(String value, Class<?> type) {
+        try {
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == Double.class || type == double.class) {
+                return Double.valueOf(value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            return value;
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.LiveSalesResponse;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Envia o painel ao vivo por SSE. Um único snapshot é montado a cada
+ * {@code mercado.dashboard.push-interval} e enviado a todos os inscritos, então o
+ * custo não cresce com o número de telas abertas.
+ *
+ * <p>Os envios bloqueiam enquanto um cliente lento não lê, por isso rodam numa
+ * thread própria e não na do agendador, que é compartilhada com as outras tarefas
+ * {@code @Scheduled}. Enquanto um envio não termina, os snapshots seguintes são
+ * pulados em vez de enfileirados.
+ */
+@Component
+public class LiveDashboardPublisher {
+
+    private final LiveSalesMetrics liveSalesMetrics;
+    private final long timeoutMillis;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean pushing = new AtomicBoolean();
+    private final ExecutorService pusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-push");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LiveDashboardPublisher(LiveSalesMetrics liveSalesMetrics,
+                                  @Value("${mercado.dashboard.sse-timeout:PT30M}") Duration timeout) {
+        this.liveSalesMetrics = liveSalesMetrics;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> emitters.remove(emitter));
+        emitters.add(emitter);
+        send(emitter, liveSalesMetrics.snapshot());
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${mercado.dashboard.push-interval:PT2S}")
+    public void publish() {
+        if (emitters.isEmpty() || !pushing.compareAndSet(false, true)) {
+            return;
+        }
+        LiveSalesResponse snapshot = liveSalesMetrics.snapshot();
+        pusher.execute(() -> {
+            try {
+                for (SseEmitter emitter : emitters) {
+                    send(emitter, snapshot);
+                }
+            } finally {
+                pushing.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pusher.shutdownNow();
+    }
+
+    private void send(SseEmitter emitter, LiveSalesResponse snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name("live-sales").data(snapshot, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: o container encerra a requisição assíncrona.
+            emitters.remove(emitter);
+        }
+    }
+}
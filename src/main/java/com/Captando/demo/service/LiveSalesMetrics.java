@@ -0,0 +1,121 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.LiveSalesResponse;
+import com.Captando.demo.dto.LiveSalesWindowResponse;
+import com.Captando.demo.model.ComandaStatus;
+import com.Captando.demo.repository.ComandaRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Números do painel ao vivo mantidos em memória: comandas abertas e vendas dos
+ * últimos 5/15/60 minutos. As vendas ficam em um anel de slots de
+ * {@value #SLOT_SECONDS} segundos cobrindo a maior janela; cada slot guarda o
+ * instante a que pertence e é trocado por CAS quando o anel dá a volta, então
+ * gravar e ler não usam lock. As atualizações só são aplicadas depois do commit.
+ */
+@Component
+public class LiveSalesMetrics {
+
+    static final int SLOT_SECONDS = 10;
+    private static final int[] WINDOW_MINUTES = {5, 15, 60};
+    private static final int SLOTS = WINDOW_MINUTES[WINDOW_MINUTES.length - 1] * 60 / SLOT_SECONDS + 1;
+    private static final Logger log = LoggerFactory.getLogger(LiveSalesMetrics.class);
+
+    private final ComandaRepository comandaRepository;
+    private final LongAdder openComandas = new LongAdder();
+    private final LongAdder closedComandas = new LongAdder();
+    private final DoubleAdder closedRevenue = new DoubleAdder();
+    private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(SLOTS);
+
+    public LiveSalesMetrics(ComandaRepository comandaRepository) {
+        this.comandaRepository = comandaRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOpenComandas() {
+        long open = comandaRepository.countByStatus(ComandaStatus.ABERTA);
+        openComandas.add(open);
+        log.info("Painel ao vivo iniciado com {} comanda(s) abertas", open);
+    }
+
+    public void comandaOpenedAfterCommit() {
+        AfterCommit.run(openComandas::increment);
+    }
+
+    public void comandasDiscardedAfterCommit(int count) {
+        AfterCommit.run(() -> openComandas.add(-count));
+    }
+
+    public void comandaClosedAfterCommit(Double total) {
+        double value = total == null ? 0.0 : total;
+        AfterCommit.run(() -> {
+            openComandas.decrement();
+            closedComandas.increment();
+            closedRevenue.add(value);
+            Slot slot = slotFor(System.currentTimeMillis() / 1000 / SLOT_SECONDS);
+            slot.comandas.increment();
+            slot.revenue.add(value);
+        });
+    }
+
+    public LiveSalesResponse snapshot() {
+        long nowMillis = System.currentTimeMillis();
+        long currentSlot = nowMillis / 1000 / SLOT_SECONDS;
+        long[] comandas = new long[WINDOW_MINUTES.length];
+        double[] revenue = new double[WINDOW_MINUTES.length];
+        for (int i = 0; i < SLOTS; i++) {
+            Slot slot = slots.get(i);
+            if (slot == null || slot.epochSlot > currentSlot) {
+                continue;
+            }
+            long ageSeconds = (currentSlot - slot.epochSlot) * SLOT_SECONDS;
+            for (int w = 0; w < WINDOW_MINUTES.length; w++) {
+                if (ageSeconds < WINDOW_MINUTES[w] * 60L) {
+                    comandas[w] += slot.comandas.sum();
+                    revenue[w] += slot.revenue.sum();
+                }
+            }
+        }
+        List<LiveSalesWindowResponse> windows = new ArrayList<>(WINDOW_MINUTES.length);
+        for (int w = 0; w < WINDOW_MINUTES.length; w++) {
+            windows.add(new LiveSalesWindowResponse(WINDOW_MINUTES[w], comandas[w], revenue[w],
+                    comandas[w] == 0 ? 0.0 : revenue[w] / comandas[w]));
+        }
+        return new LiveSalesResponse(Instant.ofEpochMilli(nowMillis), Math.max(0, openComandas.sum()),
+                closedComandas.sum(), closedRevenue.sum(), windows);
+    }
+
+    private Slot slotFor(long epochSlot) {
+        int index = (int) (epochSlot % SLOTS);
+        while (true) {
+            Slot slot = slots.get(index);
+            if (slot != null && slot.epochSlot >= epochSlot) {
+                return slot;
+            }
+            Slot fresh = new Slot(epochSlot);
+            if (slots.compareAndSet(index, slot, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static final class Slot {
+        private final long epochSlot;
+        private final LongAdder comandas = new LongAdder();
+        private final DoubleAdder revenue = new DoubleAdder();
+
+        private Slot(long epochSlot) {
+            this.epochSlot = epochSlot;
+        }
+    }
+}
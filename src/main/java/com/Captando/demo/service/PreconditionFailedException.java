@@ -0,0 +1,11 @@
+package com.Captando.demo.service;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String resource, Long id, Long expectedVersion, Long currentVersion) {
+        super(resource + " " + id + " foi alterado: versão esperada " + expectedVersion + ", atual " + currentVersion);
+    }
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,138 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.ProductCacheStatsResponse;
+import com.Captando.demo.dto.ProductResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class ProductCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<Long, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ProductCache(@Value("${mercado.product-cache.max-size:10000}") int maxSize,
+                        @Value("${mercado.product-cache.ttl:PT10M}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > ProductCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public ProductResponse get(Long id, Function<Long, ProductResponse> loader) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                if (now - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    return entry.product;
+                }
+                entries.remove(id);
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        ProductResponse loaded = loader.apply(id);
+        synchronized (entries) {
+            entries.put(id, new Entry(loaded, now));
+        }
+        return loaded;
+    }
+
+    public Map<Long, ProductResponse> getAll(Collection<Long> ids,
+                                             Function<Collection<Long>, Map<Long, ProductResponse>> loader) {
+        long now = System.nanoTime();
+        Map<Long, ProductResponse> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        synchronized (entries) {
+            for (Long id : ids) {
+                Entry entry = entries.get(id);
+                if (entry != null && now - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    found.put(id, entry.product);
+                } else {
+                    if (entry != null) {
+                        entries.remove(id);
+                        evictions.increment();
+                    }
+                    missing.add(id);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            Map<Long, ProductResponse> loaded = loader.apply(missing);
+            synchronized (entries) {
+                loaded.forEach((id, product) -> entries.put(id, new Entry(product, now)));
+            }
+            found.putAll(loaded);
+        }
+        return found;
+    }
+
+    /**
+     * Remove o produto agora e de novo após o commit, para que uma leitura
+     * concorrente não recoloque no cache a versão anterior à transação.
+     */
+    public void evict(Long id) {
+        remove(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(id);
+                }
+            });
+        }
+    }
+
+    public ProductCacheStatsResponse stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new ProductCacheStatsResponse(size, maxSize, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private void remove(Long id) {
+        synchronized (entries) {
+            entries.remove(id);
+        }
+    }
+
+    private static final class Entry {
+        private final ProductResponse product;
+        private final long loadedAt;
+
+        private Entry(ProductResponse product, long loadedAt) {
+            this.product = product;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
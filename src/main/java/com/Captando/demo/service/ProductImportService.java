@@ -0,0 +1,326 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.ProductImportError;
+import com.Captando.demo.dto.ProductImportResponse;
+import com.Captando.demo.dto.ProductRequest;
+import com.Captando.demo.model.Product;
+import com.Captando.demo.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Importação de catálogo em CSV (com cabeçalho) ou NDJSON, lida linha a linha do
+ * corpo da requisição. As linhas válidas são gravadas em lotes de
+ * {@code mercado.import.batch-size}, cada lote na sua própria transação; se um
+ * lote falha no banco, ele é regravado linha a linha para isolar a linha culpada.
+ * Linhas com {@code id} atualizam o produto existente, as demais são inseridas.
+ */
+@Service
+public class ProductImportService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ProductImportService(ProductRepository productRepository,
+                                ProductCache productCache,
+                                ProductSearchIndex searchIndex,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                @Value("${mercado.import.batch-size:500}") int batchSize,
+                                @Value("${mercado.import.max-reported-errors:100}") int maxReportedErrors) {
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setName("ProductImportService.batch");
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ProductImportResponse importProducts(InputStream body, Format format) throws IOException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport(maxReportedErrors);
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String[] header = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && header == null) {
+                    header = CsvLine.split(line.replace("\uFEFF", ""));
+                    continue;
+                }
+
+                report.processed++;
+                try {
+                    ObjectNode node = format == Format.CSV ? CsvLine.toNode(objectMapper, header, line) : parseJson(line);
+                    batch.add(toRow(lineNumber, node));
+                } catch (IllegalArgumentException e) {
+                    report.error(lineNumber, e.getMessage());
+                }
+
+                if (batch.size() == batchSize) {
+                    write(batch, report);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch, report);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Importação de produtos: {} linhas, {} criados, {} atualizados, {} com erro em {} ms",
+                report.processed, report.created, report.updated, report.failed, elapsedMillis);
+        return report.toResponse(elapsedMillis);
+    }
+
+    private ObjectNode parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!(node instanceof ObjectNode object)) {
+                throw new IllegalArgumentException("linha deve ser um objeto JSON");
+            }
+            return object;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private ImportRow toRow(long lineNumber, ObjectNode node) {
+        Long id = null;
+        JsonNode idNode = node.remove("id");
+        if (idNode != null && !idNode.isNull() && !idNode.asText().isBlank()) {
+            try {
+                id = Long.valueOf(idNode.asText().trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("id inválido: " + idNode.asText());
+            }
+        }
+        if (node.path("active").isNull()) {
+            node.remove("active");
+        }
+
+        ProductRequest request;
+        try {
+            request = objectMapper.treeToValue(node, ProductRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("valor inválido: " + e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return new ImportRow(lineNumber, id, request);
+    }
+
+    private void write(List<ImportRow> rows, ImportReport report) {
+        try {
+            report.merge(transactionTemplate.execute(status -> apply(rows)));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Lote de importação com erro ({}); gravando linha a linha",
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            for (ImportRow row : rows) {
+                try {
+                    report.merge(transactionTemplate.execute(status -> apply(List.of(row))));
+                } catch (DataAccessException | TransactionException rowError) {
+                    report.error(row.line, "falha ao gravar: "
+                            + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+    }
+
+    private BatchResult apply(List<ImportRow> rows) {
+        BatchResult result = new BatchResult();
+        List<Long> ids = rows.stream().map(row -> row.id).filter(Objects::nonNull).toList();
+        Map<Long, Product> existing = ids.isEmpty() ? Map.of() : productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<Product> inserts = new ArrayList<>();
+        List<ImportRow> updates = new ArrayList<>();
+        // Estoque primeiro, com UPDATE condicional, antes de sujar qualquer entidade:
+        // a checagem contra a reserva e a escrita acontecem no mesmo comando.
+        for (ImportRow row : rows) {
+            if (row.id == null) {
+                inserts.add(ProductService.toEntity(row.request));
+            } else if (!existing.containsKey(row.id)) {
+                result.errors.add(new ProductImportError(row.line, "Produto não encontrado com id: " + row.id));
+            } else if (productRepository.setStockIfCoversReserved(row.id, row.request.getStockQuantity()) == 0) {
+                result.errors.add(new ProductImportError(row.line, "stockQuantity menor que a quantidade reservada ("
+                        + productRepository.findReservedQuantity(row.id).orElse(0) + ")"));
+            } else {
+                updates.add(row);
+            }
+        }
+        for (ImportRow row : updates) {
+            Product product = existing.get(row.id);
+            ProductService.applyRequest(product, row.request);
+            productCache.evict(product.getId());
+            searchIndex.indexAfterCommit(product);
+            result.updated++;
+        }
+
+        productRepository.saveAll(inserts).forEach(searchIndex::indexAfterCommit);
+        productRepository.flush();
+        result.created = inserts.size();
+        return result;
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final Long id;
+        private final ProductRequest request;
+
+        private ImportRow(long line, Long id, ProductRequest request) {
+            this.line = line;
+            this.id = id;
+            this.request = request;
+        }
+    }
+
+    private static final class BatchResult {
+        private long created;
+        private long updated;
+        private final List<ProductImportError> errors = new ArrayList<>();
+    }
+
+    private static final class ImportReport {
+        private final int maxErrors;
+        private final List<ProductImportError> errors = new ArrayList<>();
+        private long processed;
+        private long created;
+        private long updated;
+        private long failed;
+        private boolean errorsTruncated;
+
+        private ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void error(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ProductImportError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        void merge(BatchResult result) {
+            created += result.created;
+            updated += result.updated;
+            result.errors.forEach(error -> error(error.getLine(), error.getMessage()));
+        }
+
+        ProductImportResponse toResponse(long elapsedMillis) {
+            errors.sort((left, right) -> Long.compare(left.getLine(), right.getLine()));
+            return new ProductImportResponse(processed, created, updated, failed, errors, errorsTruncated, elapsedMillis);
+        }
+    }
+
+    /**
+     * Divisão de uma linha CSV (RFC 4180 sem quebras de linha dentro de aspas):
+     * campos separados por vírgula, aspas duplas para campos com vírgula e
+     * {@code ""} como aspas literais.
+     */
+    static final class CsvLine {
+
+        private CsvLine() {
+        }
+
+        static String[] split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString().trim());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("aspas não fechadas");
+            }
+            fields.add(field.toString().trim());
+            return fields.toArray(String[]::new);
+        }
+
+        static ObjectNode toNode(ObjectMapper objectMapper, String[] header, String line) {
+            String[] values = split(line);
+            if (values.length > header.length) {
+                throw new IllegalArgumentException("linha com " + values.length + " colunas, cabeçalho tem " + header.length);
+            }
+            ObjectNode node = objectMapper.createObjectNode();
+            for (int i = 0; i < values.length; i++) {
+                if (!values[i].isEmpty()) {
+                    node.put(header[i], values[i]);
+                }
+            }
+            return node;
+        }
+    }
+}
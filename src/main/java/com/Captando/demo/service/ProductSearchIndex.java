@@ -0,0 +1,522 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.ProductSuggestionResponse;
+import com.Captando.demo.model.Product;
+import com.Captando.demo.repository.ProductRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Índice invertido de trigramas sobre nome, categoria e descrição dos produtos.
+ * O filtro por nome exige o texto inteiro dentro do nome (como o {@code LIKE} do
+ * banco); a busca livre exige cada termo em algum dos três campos.
+ * Cada produto recebe um ordinal interno; as listas de postings são arrays de
+ * ordinais em ordem crescente, o que permite intersecção por busca binária.
+ * Atualizar um produto marca o ordinal antigo como removido e acrescenta um novo;
+ * o índice é compactado quando os removidos passam de um quarto do total.
+ * Termos com menos de três letras não consultam os postings, só são conferidos
+ * nos candidatos.
+ * Para o autocompletar, os nomes normalizados dos produtos ativos ficam em dois
+ * mapas ordenados: um com o nome inteiro e outro com o sufixo a partir de cada
+ * palavra seguinte, ambos consultados por faixa de prefixo.
+ * Durante a recarga as alterações confirmadas continuam sendo aplicadas e também
+ * ficam registradas; depois de trocar o conteúdo pelo que foi lido do banco elas
+ * são reaplicadas, já que a leitura pode ter passado pelo produto antes do commit.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("relevance", "id", "name", "price");
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ProductRepository productRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IntList> postings = new HashMap<>();
+    private final Map<String, IntList> categories = new HashMap<>();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final TreeMap<String, IndexedProduct> namePrefixes = new TreeMap<>();
+    private final TreeMap<String, IndexedProduct> wordPrefixes = new TreeMap<>();
+    private IndexedProduct[] documents = new IndexedProduct[1024];
+    private int documentCount;
+    private int removedCount;
+    private List<Runnable> changesDuringRebuild;
+    private volatile boolean ready;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<Runnable> changes = new ArrayList<>();
+        recordChanges(changes);
+        List<IndexedProduct> loaded;
+        try {
+            loaded = load();
+        } catch (RuntimeException e) {
+            recordChanges(null);
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            loaded.forEach(this::add);
+            changes.forEach(Runnable::run);
+            changesDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de busca de produtos carregado: {} produtos em {} ms ({} alterações reaplicadas)",
+                loaded.size(), (System.nanoTime() - start) / 1_000_000, changes.size());
+    }
+
+    private void recordChanges(List<Runnable> changes) {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<IndexedProduct> load() {
+        List<IndexedProduct> loaded = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Product> window;
+        do {
+            ScrollPosition current = position;
+            window = productRepository.findBy(Specification.where(null),
+                    query -> query.sortBy(Sort.by("id")).limit(LOAD_BATCH_SIZE).scroll(current));
+            window.forEach(product -> loaded.add(IndexedProduct.of(product)));
+            if (!window.isEmpty()) {
+                position = window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+        return loaded;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> SORTABLE_PROPERTIES.contains(order.getProperty()));
+    }
+
+    /**
+     * Indexa o estado atual do produto quando a transação corrente for confirmada
+     * (ou imediatamente, fora de transação).
+     */
+    public void indexAfterCommit(Product product) {
+        IndexedProduct snapshot = IndexedProduct.of(product);
+        AfterCommit.run(() -> apply(() -> add(snapshot)));
+    }
+
+    public void removeAfterCommit(Long id) {
+        AfterCommit.run(() -> apply(() -> {
+            remove(id);
+            compactIfNeeded();
+        }));
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids dos produtos cujo nome contém {@code name}, que casam com todos os termos
+     * de {@code text} (em nome, categoria ou descrição), com a categoria exata, faixa
+     * de preço e status, ordenados conforme {@code sort} ({@code relevance} por padrão).
+     */
+    public List<Long> search(String name, String text, String category, Double minPrice, Double maxPrice,
+                             Boolean active, Sort sort) {
+        String normalizedName = TextNormalizer.normalize(name);
+        String[] terms = terms(text);
+        String normalizedCategory = StringUtils.hasText(category) ? TextNormalizer.normalize(category) : null;
+        Query query = new Query(normalizedName, terms, normalizedCategory, minPrice, maxPrice, active);
+
+        lock.readLock().lock();
+        try {
+            List<IntList> lists = new ArrayList<>();
+            if (normalizedCategory != null) {
+                lists.add(postingsOf(categories.get(normalizedCategory)));
+            }
+            // Os trigramas do nome também estão nos postings gerais: eles só reduzem os
+            // candidatos, e collect confere o nome de cada um.
+            for (String term : terms(normalizedName)) {
+                addTrigramPostings(term, lists);
+            }
+            for (String term : terms) {
+                addTrigramPostings(term, lists);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            List<Match> matches = new ArrayList<>();
+            if (lists.isEmpty()) {
+                for (int ordinal = 0; ordinal < documentCount; ordinal++) {
+                    collect(ordinal, query, matches);
+                }
+            } else {
+                IntList smallest = lists.get(0);
+                int[] cursors = new int[lists.size()];
+                for (int i = 0; i < smallest.size; i++) {
+                    int ordinal = smallest.values[i];
+                    if (containedInAll(ordinal, lists, cursors)) {
+                        collect(ordinal, query, matches);
+                    }
+                }
+            }
+
+            matches.sort(comparator(sort));
+            List<Long> ids = new ArrayList<>(matches.size());
+            for (Match match : matches) {
+                ids.add(match.product.id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Até {@code limit} produtos ativos cujo nome, ou alguma palavra do nome a partir
+     * dela, começa com {@code prefix}. Nomes que começam com o prefixo vêm primeiro,
+     * cada grupo em ordem alfabética.
+     */
+    public List<ProductSuggestionResponse> suggest(String prefix, int limit) {
+        String normalized = TextNormalizer.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String upperBound = normalized + Character.MAX_VALUE;
+
+        lock.readLock().lock();
+        try {
+            Map<Long, IndexedProduct> found = new LinkedHashMap<>();
+            collectPrefix(namePrefixes, normalized, upperBound, limit, found);
+            collectPrefix(wordPrefixes, normalized, upperBound, limit, found);
+            List<ProductSuggestionResponse> suggestions = new ArrayList<>(found.size());
+            for (IndexedProduct product : found.values()) {
+                suggestions.add(new ProductSuggestionResponse(product.id, product.name, product.displayCategory, product.price));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collectPrefix(TreeMap<String, IndexedProduct> prefixes, String from, String to, int limit,
+                                      Map<Long, IndexedProduct> found) {
+        for (IndexedProduct product : prefixes.subMap(from, true, to, false).values()) {
+            if (found.size() >= limit) {
+                return;
+            }
+            found.putIfAbsent(product.id, product);
+        }
+    }
+
+    private void addTrigramPostings(String term, List<IntList> lists) {
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            lists.add(postingsOf(postings.get(term.substring(i, i + 3))));
+        }
+    }
+
+    private static String[] terms(String text) {
+        String normalized = TextNormalizer.normalize(text);
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private void collect(int ordinal, Query query, List<Match> matches) {
+        IndexedProduct product = documents[ordinal];
+        if (product == null
+                || (query.category != null && !query.category.equals(product.category))
+                || (query.minPrice != null && product.price < query.minPrice)
+                || (query.maxPrice != null && product.price > query.maxPrice)
+                || (query.active != null && product.active != query.active)) {
+            return;
+        }
+        int score = 0;
+        if (!query.name.isEmpty()) {
+            score = product.nameScore(query.name);
+            if (score == 0) {
+                return;
+            }
+        }
+        for (String term : query.terms) {
+            int termScore = product.score(term);
+            if (termScore == 0) {
+                return;
+            }
+            score += termScore;
+        }
+        matches.add(new Match(product, score));
+    }
+
+    /**
+     * Como os ordinais do menor posting são visitados em ordem crescente, cada
+     * cursor só avança; o salto exponencial mantém a intersecção perto de linear.
+     */
+    private static boolean containedInAll(int ordinal, List<IntList> lists, int[] cursors) {
+        for (int i = 1; i < lists.size(); i++) {
+            cursors[i] = lists.get(i).advanceTo(cursors[i], ordinal);
+            if (!lists.get(i).has(cursors[i], ordinal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Comparator<Match> comparator(Sort sort) {
+        Comparator<Match> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Match> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparingLong(match -> match.product.id);
+                case "name" -> Comparator.comparing(match -> match.product.name);
+                case "price" -> Comparator.comparingDouble(match -> match.product.price);
+                default -> Comparator.<Match>comparingInt(match -> match.score).reversed();
+            };
+            if (order.isDescending() && !"relevance".equals(order.getProperty())) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<Match> byId = Comparator.comparingLong(match -> match.product.id);
+        if (comparator == null) {
+            return Comparator.<Match>comparingInt(match -> match.score).reversed().thenComparing(byId);
+        }
+        return comparator.thenComparing(byId);
+    }
+
+    private void add(IndexedProduct product) {
+        remove(product.id);
+        if (documentCount == documents.length) {
+            documents = Arrays.copyOf(documents, documentCount * 2);
+        }
+        int ordinal = documentCount++;
+        documents[ordinal] = product;
+        ordinalsById.put(product.id, ordinal);
+
+        for (String gram : product.trigrams()) {
+            postings.computeIfAbsent(gram, key -> new IntList()).add(ordinal);
+        }
+        if (!product.category.isEmpty()) {
+            categories.computeIfAbsent(product.category, key -> new IntList()).add(ordinal);
+        }
+        product.forEachNameKey((key, leading) -> (leading ? namePrefixes : wordPrefixes).put(key, product));
+        compactIfNeeded();
+    }
+
+    private void remove(Long id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal != null) {
+            IndexedProduct product = documents[ordinal];
+            product.forEachNameKey((key, leading) -> (leading ? namePrefixes : wordPrefixes).remove(key));
+            documents[ordinal] = null;
+            removedCount++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (removedCount < 1024 || removedCount * 4 < documentCount) {
+            return;
+        }
+        IndexedProduct[] live = Arrays.stream(documents, 0, documentCount)
+                .filter(document -> document != null)
+                .toArray(IndexedProduct[]::new);
+        clear();
+        for (IndexedProduct product : live) {
+            add(product);
+        }
+    }
+
+    private void clear() {
+        postings.clear();
+        categories.clear();
+        ordinalsById.clear();
+        namePrefixes.clear();
+        wordPrefixes.clear();
+        documents = new IndexedProduct[Math.max(1024, documentCount)];
+        documentCount = 0;
+        removedCount = 0;
+    }
+
+    private static IntList postingsOf(IntList list) {
+        return list == null ? IntList.EMPTY : list;
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        String padded = " " + text + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            String gram = padded.substring(i, i + 3);
+            if (!gram.isBlank()) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+    private static final class IndexedProduct {
+        private final long id;
+        private final String name;
+        private final String normalizedName;
+        private final String category;
+        private final String displayCategory;
+        private final String description;
+        private final double price;
+        private final boolean active;
+
+        private IndexedProduct(long id, String name, String category, String description, double price, boolean active) {
+            this.id = id;
+            this.name = name == null ? "" : name;
+            this.normalizedName = TextNormalizer.normalize(name);
+            this.category = TextNormalizer.normalize(category);
+            this.displayCategory = category;
+            this.description = TextNormalizer.normalize(description);
+            this.price = price;
+            this.active = active;
+        }
+
+        static IndexedProduct of(Product product) {
+            return new IndexedProduct(product.getId(), product.getName(), product.getCategory(),
+                    product.getDescription(), product.getPrice(), product.isActive());
+        }
+
+        Set<String> trigrams() {
+            Set<String> grams = ProductSearchIndex.trigrams(normalizedName);
+            grams.addAll(ProductSearchIndex.trigrams(category));
+            grams.addAll(ProductSearchIndex.trigrams(description));
+            return grams;
+        }
+
+        /**
+         * Chaves do autocompletar: o nome inteiro e o sufixo a partir de cada palavra
+         * seguinte, terminadas pelo id para que nomes iguais não colidam.
+         */
+        void forEachNameKey(BiConsumer<String, Boolean> action) {
+            if (!active || normalizedName.isEmpty()) {
+                return;
+            }
+            String suffix = KEY_SEPARATOR + Long.toString(id);
+            action.accept(normalizedName + suffix, true);
+            for (int i = normalizedName.indexOf(' '); i >= 0; i = normalizedName.indexOf(' ', i + 1)) {
+                action.accept(normalizedName.substring(i + 1) + suffix, false);
+            }
+        }
+
+        int nameScore(String term) {
+            int index = normalizedName.indexOf(term);
+            if (index == 0) {
+                return normalizedName.length() == term.length() ? 16 : 10;
+            }
+            if (index > 0) {
+                return normalizedName.charAt(index - 1) == ' ' ? 6 : 4;
+            }
+            return 0;
+        }
+
+        int score(String term) {
+            int nameScore = nameScore(term);
+            if (nameScore > 0) {
+                return nameScore;
+            }
+            if (category.contains(term)) {
+                return 2;
+            }
+            return description.contains(term) ? 1 : 0;
+        }
+    }
+
+    private static final class Query {
+        private final String name;
+        private final String[] terms;
+        private final String category;
+        private final Double minPrice;
+        private final Double maxPrice;
+        private final Boolean active;
+
+        private Query(String name, String[] terms, String category, Double minPrice, Double maxPrice, Boolean active) {
+            this.name = name;
+            this.terms = terms;
+            this.category = category;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.active = active;
+        }
+    }
+
+    private static final class Match {
+        private final IndexedProduct product;
+        private final int score;
+
+        private Match(IndexedProduct product, int score) {
+            this.product = product;
+            this.score = score;
+        }
+    }
+
+    private static final class IntList {
+        private static final IntList EMPTY = new IntList();
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int advanceTo(int from, int value) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && values[high] < value) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(values, low, Math.min(high + 1, size), value);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        boolean has(int position, int value) {
+            return position < size && values[position] == value;
+        }
+    }
+}
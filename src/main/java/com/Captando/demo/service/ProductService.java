@@ -1,28 +1,42 @@
 package com.Captando.demo.service;
 
+import com.Captando.demo.dto.CursorPageResponse;
+import com.Captando.demo.dto.ProductCacheStatsResponse;
 import com.Captando.demo.dto.ProductRequest;
 import com.Captando.demo.dto.ProductResponse;
+import com.Captando.demo.dto.ProductSuggestionResponse;
+import com.Captando.demo.dto.ProductVersion;
 import com.Captando.demo.model.Product;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public interface ProductService {
-    Page<ProductResponse> findAll(String name, String category, Double minPrice, Double maxPrice, Boolean active, Pageable pageable);
+    Page<ProductResponse> findAll(String name, String text, String category, Double minPrice, Double maxPrice, Boolean active, Pageable pageable);
+    Page<ProductVersion> findVersions(String name, String text, String category, Double minPrice, Double maxPrice, Boolean active, Pageable pageable);
+    CursorPageResponse<ProductResponse> findAfter(String name, String text, String category, Double minPrice, Double maxPrice, Boolean active, String after, int size, Sort.Order order);
     ProductResponse findById(Long id);
+    List<ProductSuggestionResponse> suggest(String prefix, int limit);
     ProductResponse create(ProductRequest request);
-    ProductResponse update(Long id, ProductRequest request);
-    ProductResponse adjustStock(Long id, int delta);
+    ProductResponse update(Long id, ProductRequest request, Long expectedVersion);
+    ProductResponse adjustStock(Long id, int delta, Long expectedVersion);
     void delete(Long id);
+    ProductCacheStatsResponse cacheStats();
 
     static Product toEntity(ProductRequest request) {
         Product product = new Product();
+        applyRequest(product, request);
+        return product;
+    }
+
+    static void applyRequest(Product product, ProductRequest request) {
         product.setName(request.getName());
         product.setDescription(request.getDescription());
         product.setPrice(request.getPrice());
         product.setCategory(request.getCategory());
         product.setStockQuantity(request.getStockQuantity());
         product.setActive(Boolean.TRUE.equals(request.getActive()));
-        return product;
     }
 
     static ProductResponse toResponse(Product product) {
@@ -33,7 +47,8 @@ public interface ProductService {
                 product.getPrice(),
                 product.getCategory(),
                 product.getStockQuantity(),
-                product.isActive()
+                product.isActive(),
+                product.getVersion()
         );
     }
 }
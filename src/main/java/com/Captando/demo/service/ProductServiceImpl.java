@@ -1,12 +1,33 @@
 package com.Captando.demo.service;
 
+import com.Captando.demo.dto.CursorPageResponse;
+import com.Captando.demo.dto.ProductCacheStatsResponse;
 import com.Captando.demo.dto.ProductRequest;
 import com.Captando.demo.dto.ProductResponse;
+import com.Captando.demo.dto.ProductSuggestionResponse;
+import com.Captando.demo.dto.ProductVersion;
 import com.Captando.demo.model.Product;
 import com.Captando.demo.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -14,15 +35,129 @@ import org.springframework.util.StringUtils;
 @Service
 public class ProductServiceImpl implements ProductService {
 
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("id", "name", "price");
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final EntityManager entityManager;
 
-    public ProductServiceImpl(ProductRepository productRepository) {
+    public ProductServiceImpl(ProductRepository productRepository, ProductCache productCache, ProductSearchIndex searchIndex,
+                              EntityManager entityManager) {
         this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.searchIndex = searchIndex;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductResponse> findAll(String name, String text, String category, Double minPrice, Double maxPrice,
+                                         Boolean active, Pageable pageable) {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice não pode ser maior que maxPrice");
+        }
+        if (usesIndex(name, text, category, pageable)) {
+            List<Long> ids = searchIndex.search(name, text, category, minPrice, maxPrice, active, pageable.getSort());
+            return hydrate(ids, pageable);
+        }
+
+        Specification<Product> spec = buildSpecification(name, text, category, minPrice, maxPrice, active);
+        return productRepository.findAll(spec, databasePageable(pageable)).map(ProductService::toResponse);
     }
 
+    /**
+     * Ids e versões da mesma página de {@link #findAll}, sem carregar as entidades:
+     * basta para a ETag da listagem.
+     */
     @Override
     @Transactional(readOnly = true)
-    public Page<ProductResponse> findAll(String name, String category, Double minPrice, Double maxPrice, Boolean active, Pageable pageable) {
+    public Page<ProductVersion> findVersions(String name, String text, String category, Double minPrice,
+                                             Double maxPrice, Boolean active, Pageable pageable) {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice não pode ser maior que maxPrice");
+        }
+        if (usesIndex(name, text, category, pageable)) {
+            List<Long> ids = searchIndex.search(name, text, category, minPrice, maxPrice, active, pageable.getSort());
+            List<Long> pageIds = pageOf(ids, pageable);
+            Map<Long, Long> versions = pageIds.isEmpty() ? Map.of() : productRepository.findVersionsByIdIn(pageIds)
+                    .stream()
+                    .collect(Collectors.toMap(ProductVersion::getId, ProductVersion::getVersion));
+            List<ProductVersion> content = pageIds.stream()
+                    .filter(versions::containsKey)
+                    .map(id -> new ProductVersion(id, versions.get(id)))
+                    .toList();
+            return new PageImpl<>(content, pageable, ids.size());
+        }
+
+        Specification<Product> spec = buildSpecification(name, text, category, minPrice, maxPrice, active);
+        Pageable databasePageable = databasePageable(pageable);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductVersion> query = cb.createQuery(ProductVersion.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductVersion.class, root.get("id"), root.get("version")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(databasePageable.getSort(), root, cb));
+        List<ProductVersion> content = entityManager.createQuery(query)
+                .setFirstResult((int) databasePageable.getOffset())
+                .setMaxResults(databasePageable.getPageSize())
+                .getResultList();
+        return new PageImpl<>(content, pageable, productRepository.count(spec));
+    }
+
+    private boolean usesIndex(String name, String text, String category, Pageable pageable) {
+        boolean textSearch = StringUtils.hasText(name) || StringUtils.hasText(text) || StringUtils.hasText(category);
+        return textSearch && searchIndex.isReady() && searchIndex.supports(pageable.getSort());
+    }
+
+    private static Pageable databasePageable(Pageable pageable) {
+        if (pageable.getSort().getOrderFor("relevance") != null) {
+            return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+        }
+        return pageable;
+    }
+
+    private static List<Long> pageOf(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return ids.subList(from, to);
+    }
+
+    private Page<ProductResponse> hydrate(List<Long> ids, Pageable pageable) {
+        List<Long> pageIds = pageOf(ids, pageable);
+        Map<Long, Product> products = productRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductResponse> content = pageIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(ProductService::toResponse)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> findAfter(String name, String text, String category, Double minPrice,
+                                                         Double maxPrice, Boolean active, String after, int size,
+                                                         Sort.Order order) {
+        int limit = KeysetCursor.size(size);
+        Specification<Product> spec = buildSpecification(name, text, category, minPrice, maxPrice, active);
+        Sort sort = KeysetCursor.sort(order, CURSOR_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(after, Product.class, sort);
+        Window<Product> window = productRepository.findBy(spec, query -> query.sortBy(sort).limit(limit).scroll(position));
+        return KeysetCursor.toResponse(window, ProductService::toResponse);
+    }
+
+    static Specification<Product> buildSpecification(String name, String category, Double minPrice, Double maxPrice, Boolean active) {
+        return buildSpecification(name, null, category, minPrice, maxPrice, active);
+    }
+
+    static Specification<Product> buildSpecification(String name, String text, String category, Double minPrice,
+                                                     Double maxPrice, Boolean active) {
         if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
             throw new IllegalArgumentException("minPrice não pode ser maior que maxPrice");
         }
@@ -35,6 +170,17 @@ public class ProductServiceImpl implements ProductService {
             );
         }
 
+        if (StringUtils.hasText(text)) {
+            for (String term : text.trim().toLowerCase().split("\\s+")) {
+                String pattern = "%" + term + "%";
+                spec = spec.and((root, query, cb) -> cb.or(
+                        cb.like(cb.lower(root.get("name")), pattern),
+                        cb.like(cb.lower(root.get("category")), pattern),
+                        cb.like(cb.lower(root.get("description")), pattern)
+                ));
+            }
+        }
+
         if (StringUtils.hasText(category)) {
             spec = spec.and((root, query, cb) ->
                     cb.equal(cb.lower(root.get("category")), category.trim().toLowerCase())
@@ -53,15 +199,35 @@ public class ProductServiceImpl implements ProductService {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("active"), active));
         }
 
-        return productRepository.findAll(spec, pageable).map(ProductService::toResponse);
+        return spec;
     }
 
     @Override
     @Transactional(readOnly = true)
     public ProductResponse findById(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException(id));
-        return ProductService.toResponse(product);
+        return productCache.get(id, productId -> ProductService.toResponse(productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException(productId))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSuggestionResponse> suggest(String prefix, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        if (searchIndex.isReady()) {
+            return searchIndex.suggest(prefix, boundedLimit);
+        }
+        if (!StringUtils.hasText(prefix)) {
+            return List.of();
+        }
+        Specification<Product> spec = buildSpecification(prefix, null, null, null, Boolean.TRUE);
+        return productRepository.findAll(spec, PageRequest.of(0, boundedLimit, Sort.by("name"))).stream()
+                .map(product -> new ProductSuggestionResponse(product.getId(), product.getName(), product.getCategory(), product.getPrice()))
+                .toList();
+    }
+
+    @Override
+    public ProductCacheStatsResponse cacheStats() {
+        return productCache.stats();
     }
 
     @Override
@@ -69,38 +235,51 @@ public class ProductServiceImpl implements ProductService {
     public ProductResponse create(ProductRequest request) {
         Product product = ProductService.toEntity(request);
         product.setId(null);
-        return ProductService.toResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        productCache.evict(saved.getId());
+        searchIndex.indexAfterCommit(saved);
+        return ProductService.toResponse(saved);
     }
 
     @Override
     @Transactional
-    public ProductResponse update(Long id, ProductRequest request) {
+    public ProductResponse update(Long id, ProductRequest request, Long expectedVersion) {
         Product existing = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new PreconditionFailedException("Produto", id, expectedVersion, existing.getVersion());
+        }
+        if (productRepository.setStockIfCoversReserved(id, request.getStockQuantity()) == 0) {
+            int reserved = productRepository.findReservedQuantity(id)
+                    .orElseThrow(() -> new ProductNotFoundException(id));
+            throw new InsufficientStockException(id, reserved, request.getStockQuantity());
+        }
 
-        existing.setName(request.getName());
-        existing.setDescription(request.getDescription());
-        existing.setPrice(request.getPrice());
-        existing.setCategory(request.getCategory());
-        existing.setStockQuantity(request.getStockQuantity());
-        existing.setActive(Boolean.TRUE.equals(request.getActive()));
+        ProductService.applyRequest(existing, request);
 
-        return ProductService.toResponse(productRepository.save(existing));
+        // flush para a resposta (e a ETag) já trazerem a versão incrementada
+        Product saved = productRepository.saveAndFlush(existing);
+        productCache.evict(id);
+        searchIndex.indexAfterCommit(saved);
+        return ProductService.toResponse(saved);
     }
 
     @Override
     @Transactional
-    public ProductResponse adjustStock(Long id, int delta) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException(id));
-
-        int projectedStock = product.getStockQuantity() + delta;
-        if (projectedStock < 0) {
-            throw new InsufficientStockException(id, product.getStockQuantity(), delta);
+    public ProductResponse adjustStock(Long id, int delta, Long expectedVersion) {
+        if (productRepository.adjustStock(id, delta, expectedVersion) == 0) {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ProductNotFoundException(id));
+            if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+                throw new PreconditionFailedException("Produto", id, expectedVersion, product.getVersion());
+            }
+            throw new InsufficientStockException(id, product.getAvailableQuantity(), delta);
         }
 
-        product.setStockQuantity(projectedStock);
-        return ProductService.toResponse(productRepository.save(product));
+        productCache.evict(id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
+        return ProductService.toResponse(product);
     }
 
     @Override
@@ -109,5 +288,7 @@ public class ProductServiceImpl implements ProductService {
         Product existing = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
         productRepository.delete(existing);
+        productCache.evict(id);
+        searchIndex.removeAfterCommit(id);
     }
 }
@@ -0,0 +1,134 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.dto.CategorySalesResponse;
+import com.Captando.demo.dto.ProductSalesResponse;
+import com.Captando.demo.dto.SalesBucketResponse;
+import com.Captando.demo.model.Comanda;
+import com.Captando.demo.model.ComandaItem;
+import com.Captando.demo.model.ComandaStatus;
+import com.Captando.demo.model.PaymentMethod;
+import com.Captando.demo.repository.SalesRollupRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Relatórios de vendas respondidos a partir dos agregados por hora
+ * (forma de pagamento e produto × forma de pagamento), que são atualizados na
+ * mesma transação em que a comanda é fechada. Cada consulta lê só os buckets do
+ * período pedido, sem varrer comandas e itens.
+ *
+ * <p>Cada comanda soma numa das {@code rollup-stripes} linhas do bucket (id da
+ * comanda mod N), então checkouts simultâneos na mesma hora raramente esperam
+ * pelo mesmo lock; os produtos são gravados em ordem de id para que duas
+ * transações travem as linhas na mesma ordem.
+ */
+@Service
+public class SalesReportService {
+
+    public static final int MAX_PRODUCTS = 100;
+
+    private final SalesRollupRepository rollupRepository;
+    private final int stripes;
+
+    public SalesReportService(SalesRollupRepository rollupRepository,
+                              @Value("${mercado.reports.rollup-stripes:8}") int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("mercado.reports.rollup-stripes deve ser maior que zero");
+        }
+        this.rollupRepository = rollupRepository;
+        this.stripes = stripes;
+    }
+
+    public void recordClosed(Comanda comanda) {
+        apply(comanda, 1);
+    }
+
+    public void revertClosed(Comanda comanda) {
+        if (comanda.getStatus() == ComandaStatus.FECHADA && comanda.getClosedAt() != null) {
+            apply(comanda, -1);
+        }
+    }
+
+    private void apply(Comanda comanda, int sign) {
+        LocalDateTime bucket = comanda.getClosedAt().truncatedTo(ChronoUnit.HOURS);
+        PaymentMethod paymentMethod = comanda.getPaymentMethod() == null ? PaymentMethod.CASH : comanda.getPaymentMethod();
+        double subtotal = value(comanda.getSubtotal());
+        double total = value(comanda.getTotal());
+        int stripe = (int) Math.floorMod(comanda.getId(), (long) stripes);
+        rollupRepository.addPayment(bucket, paymentMethod.name(), stripe, sign, sign * subtotal,
+                sign * (subtotal - total), sign * total);
+
+        Map<Long, ProductSalesResponse> products = new TreeMap<>();
+        for (ComandaItem item : comanda.getItems()) {
+            long quantity = item.getQuantity() == null ? 0 : item.getQuantity();
+            double revenue = quantity * value(item.getUnitPrice());
+            products.merge(item.getProduct().getId(),
+                    new ProductSalesResponse(item.getProduct().getId(), item.getProductName(),
+                            item.getProduct().getCategory(), sign * quantity, sign * revenue),
+                    (left, right) -> new ProductSalesResponse(left.getProductId(), left.getProductName(),
+                            left.getCategory(), left.getQuantity() + right.getQuantity(),
+                            left.getRevenue() + right.getRevenue()));
+        }
+        if (!products.isEmpty()) {
+            rollupRepository.addProducts(bucket, paymentMethod.name(), stripe, new ArrayList<>(products.values()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesBucketResponse> byPaymentMethod(LocalDate from, LocalDate to) {
+        return rollupRepository.totalsByPaymentMethod(start(from), end(from, to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesBucketResponse> daily(LocalDate from, LocalDate to, PaymentMethod paymentMethod) {
+        return rollupRepository.totalsByDay(start(from), end(from, to), name(paymentMethod));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesBucketResponse> hourly(LocalDate date, PaymentMethod paymentMethod) {
+        return rollupRepository.totalsByHour(start(date), end(date, date), name(paymentMethod));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSalesResponse> topProducts(LocalDate from, LocalDate to, PaymentMethod paymentMethod,
+                                                  String category, boolean byRevenue, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit deve ser maior que zero");
+        }
+        return rollupRepository.topProducts(start(from), end(from, to), name(paymentMethod),
+                category == null || category.isBlank() ? null : category.trim(), byRevenue, Math.min(limit, MAX_PRODUCTS));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategorySalesResponse> byCategory(LocalDate from, LocalDate to, PaymentMethod paymentMethod) {
+        return rollupRepository.totalsByCategory(start(from), end(from, to), name(paymentMethod));
+    }
+
+    private static LocalDateTime start(LocalDate from) {
+        return from.atStartOfDay();
+    }
+
+    private static LocalDateTime end(LocalDate from, LocalDate to) {
+        LocalDate lastDay = to == null ? from : to;
+        if (lastDay.isBefore(from)) {
+            throw new IllegalArgumentException("to não pode ser anterior a from");
+        }
+        return lastDay.plusDays(1).atStartOfDay();
+    }
+
+    private static String name(PaymentMethod paymentMethod) {
+        return paymentMethod == null ? null : paymentMethod.name();
+    }
+
+    private static double value(Double value) {
+        return value == null ? 0.0 : value;
+    }
+}
@@ -0,0 +1,69 @@
+package com.Captando.demo.service;
+
+import com.Captando.demo.model.Comanda;
+import com.Captando.demo.model.ComandaItem;
+import com.Captando.demo.model.Product;
+import com.Captando.demo.repository.ProductRepository;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reserva de estoque das comandas abertas. Cada operação é um único UPDATE
+ * condicional por produto: não há leitura prévia nem lock pessimista, e o lock
+ * de linha do banco só é mantido até o commit da transação que o chamou. Os
+ * produtos de uma comanda são sempre atualizados em ordem crescente de id, para
+ * que duas transações com os mesmos produtos não travem uma à outra.
+ */
+@Service
+public class StockReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationService.class);
+
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+
+    public StockReservationService(ProductRepository productRepository, ProductCache productCache) {
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+    }
+
+    public void reserve(Long productId, int quantity) {
+        if (productRepository.reserveStock(productId, quantity) == 0) {
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ProductNotFoundException(productId));
+            throw new InsufficientStockException(productId, product.getAvailableQuantity(), quantity);
+        }
+    }
+
+    public void release(Long productId, int quantity) {
+        if (productRepository.releaseStock(productId, quantity) == 0) {
+            log.warn("Reserva do produto {} menor que a quantidade liberada ({})", productId, quantity);
+        }
+    }
+
+    public void releaseAll(Comanda comanda) {
+        quantitiesByProduct(comanda).forEach(this::release);
+    }
+
+    public void commitAll(Comanda comanda) {
+        quantitiesByProduct(comanda).forEach((productId, quantity) -> {
+            if (productRepository.commitReservedStock(productId, quantity) == 0) {
+                Product product = productRepository.findById(productId)
+                        .orElseThrow(() -> new ProductNotFoundException(productId));
+                throw new InsufficientStockException(productId, product.getStockQuantity(), quantity);
+            }
+            productCache.evict(productId);
+        });
+    }
+
+    private Map<Long, Integer> quantitiesByProduct(Comanda comanda) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (ComandaItem item : comanda.getItems()) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,7 @@
+package com.Captando.demo.service;
+
+public class StreamCapacityException extends RuntimeException {
+    public StreamCapacityException(int maxSubscribers) {
+        super("Limite de " + maxSubscribers + " conexões de stream atingido, tente novamente");
+    }
+}
@@ -0,0 +1,89 @@
+-- Bancos criados antes pelo ddl-auto=update do Hibernate entram no Flyway pela versão 0
+-- (spring.flyway.baseline-on-migrate) e passam por este script: tudo aqui pode rodar sobre as
+-- tabelas antigas, completando colunas, índices e chaves que faltam.
+create table if not exists customer (
+    id bigint generated by default as identity,
+    name varchar(255),
+    email varchar(255),
+    phone varchar(255),
+    primary key (id)
+);
+
+create table if not exists product (
+    id bigint generated by default as identity,
+    name varchar(255),
+    description varchar(255),
+    price float(53) not null,
+    category varchar(255),
+    stock_quantity integer not null,
+    reserved_quantity integer default 0 not null,
+    active boolean not null,
+    primary key (id)
+);
+
+create table if not exists comandas (
+    id bigint generated by default as identity,
+    customer_name varchar(255),
+    status enum ('ABERTA', 'CANCELADA', 'FECHADA'),
+    customer_id bigint,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    closed_at timestamp(6),
+    discount_percent float(53),
+    discount_amount float(53),
+    subtotal float(53),
+    total float(53),
+    payment_method tinyint check (payment_method between 0 and 5),
+    primary key (id)
+);
+
+create table if not exists comanda_item (
+    id bigint generated by default as identity,
+    comanda_id bigint,
+    product_id bigint not null,
+    product_name varchar(255),
+    quantity integer,
+    unit_price float(53),
+    primary key (id)
+);
+
+-- Colunas que as entidades ganharam depois do esquema original.
+alter table product add column if not exists reserved_quantity integer default 0 not null;
+alter table comandas add column if not exists updated_at timestamp(6);
+alter table comandas add column if not exists subtotal float(53);
+alter table comandas add column if not exists total float(53);
+alter table comanda_item add column if not exists product_name varchar(255);
+
+update comanda_item i set product_name = (select p.name from product p where p.id = i.product_id)
+where product_name is null;
+update comandas c set subtotal = coalesce((select sum(i.quantity * i.unit_price) from comanda_item i
+    where i.comanda_id = c.id), 0)
+where subtotal is null;
+update comandas set total = greatest(0, subtotal - subtotal * coalesce(discount_percent, 0) / 100
+    - coalesce(discount_amount, 0))
+where total is null;
+-- Itens de comandas abertas ficam reservados até o checkout.
+update product p set reserved_quantity = least(p.stock_quantity, (select coalesce(sum(i.quantity), 0)
+    from comanda_item i join comandas c on c.id = i.comanda_id
+    where c.status = 'ABERTA' and i.product_id = p.id));
+
+-- Índices criados antes das chaves estrangeiras para que as constraints os reaproveitem.
+-- Itens são sempre carregados pela comanda e consultados pelo produto.
+create index if not exists idx_comanda_item_comanda on comanda_item (comanda_id);
+create index if not exists idx_comanda_item_product on comanda_item (product_id);
+
+-- Listagens por status (cursor, varredura de comandas abandonadas) e por data de abertura.
+create index if not exists idx_comandas_status_created on comandas (status, created_at);
+create index if not exists idx_comandas_created on comandas (created_at);
+create index if not exists idx_comandas_customer on comandas (customer_id);
+
+create index if not exists idx_product_category on product (category);
+create index if not exists idx_customer_email on customer (email);
+
+-- Chaves estrangeiras que o Hibernate criou com nome gerado dão lugar às nomeadas.
+alter table comandas drop constraint if exists fkk0f4m64g3pjrhachuayce7dm1;
+alter table comanda_item drop constraint if exists fk3kaaga0cdrny9tlees7gvw5fp;
+alter table comanda_item drop constraint if exists fk3cwx4y4yxxlrd11y5e7vtqarf;
+alter table comandas add constraint if not exists fk_comandas_customer foreign key (customer_id) references customer (id);
+alter table comanda_item add constraint if not exists fk_comanda_item_comanda foreign key (comanda_id) references comandas (id);
+alter table comanda_item add constraint if not exists fk_comanda_item_product foreign key (product_id) references product (id);
@@ -0,0 +1,12 @@
+-- Ids gerados por sequência com alocação em blocos de 50 (otimizador "pooled" do Hibernate),
+-- o que permite agrupar os INSERTs em lotes JDBC. O Hibernate trata o valor lido como o topo do
+-- bloco, por isso cada sequência recomeça em max(id) + 50.
+create sequence product_seq start with 1 increment by 50;
+create sequence customer_seq start with 1 increment by 50;
+create sequence comandas_seq start with 1 increment by 50;
+create sequence comanda_item_seq start with 1 increment by 50;
+
+alter sequence product_seq restart with (select coalesce(max(id), 0) + 50 from product);
+alter sequence customer_seq restart with (select coalesce(max(id), 0) + 50 from customer);
+alter sequence comandas_seq restart with (select coalesce(max(id), 0) + 50 from comandas);
+alter sequence comanda_item_seq restart with (select coalesce(max(id), 0) + 50 from comanda_item);
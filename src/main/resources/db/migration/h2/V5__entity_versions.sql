@@ -0,0 +1,3 @@
+-- Versão para lock otimista e ETag de produtos e comandas.
+alter table product add column version bigint default 0 not null;
+alter table comandas add column version bigint default 0 not null;
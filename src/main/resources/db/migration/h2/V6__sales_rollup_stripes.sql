@@ -0,0 +1,9 @@
+-- Cada bucket passa a ter várias linhas (stripe = id da comanda mod N), para que checkouts
+-- simultâneos na mesma hora não disputem o lock de uma única linha. Os relatórios já somam as linhas.
+alter table sales_rollup_payment add column stripe smallint default 0 not null;
+alter table sales_rollup_payment drop primary key;
+alter table sales_rollup_payment add primary key (bucket_hour, payment_method, stripe);
+
+alter table sales_rollup_product add column stripe smallint default 0 not null;
+alter table sales_rollup_product drop primary key;
+alter table sales_rollup_product add primary key (bucket_hour, product_id, payment_method, stripe);
@@ -0,0 +1,157 @@
+-- Mesmo esquema de h2/V1 com os tipos que o Hibernate usa no MySQL 8. Como lá, pode rodar sobre as
+-- tabelas de um banco criado pelo antigo ddl-auto=update. O MySQL não tem "add column if not exists"
+-- nem "create index if not exists": cada alteração condicional é montada a partir do
+-- information_schema e executada como prepared statement ("do 0" quando já existe).
+create table if not exists customer (
+    id bigint not null auto_increment,
+    name varchar(255),
+    email varchar(255),
+    phone varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table if not exists product (
+    id bigint not null auto_increment,
+    name varchar(255),
+    description varchar(255),
+    price double not null,
+    category varchar(255),
+    stock_quantity integer not null,
+    reserved_quantity integer default 0 not null,
+    active bit not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table if not exists comandas (
+    id bigint not null auto_increment,
+    customer_name varchar(255),
+    status enum ('ABERTA', 'CANCELADA', 'FECHADA'),
+    customer_id bigint,
+    created_at datetime(6),
+    updated_at datetime(6),
+    closed_at datetime(6),
+    discount_percent double,
+    discount_amount double,
+    subtotal double,
+    total double,
+    payment_method tinyint check (payment_method between 0 and 5),
+    primary key (id)
+) engine=InnoDB;
+
+create table if not exists comanda_item (
+    id bigint not null auto_increment,
+    comanda_id bigint,
+    product_id bigint not null,
+    product_name varchar(255),
+    quantity integer,
+    unit_price double,
+    primary key (id)
+) engine=InnoDB;
+
+-- Colunas que as entidades ganharam depois do esquema original.
+set @ddl = if(exists(select * from information_schema.columns
+        where table_schema = database() and table_name = 'product' and column_name = 'reserved_quantity'),
+    'do 0', 'alter table product add column reserved_quantity integer default 0 not null');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(exists(select * from information_schema.columns
+        where table_schema = database() and table_name = 'comandas' and column_name = 'updated_at'),
+    'do 0', 'alter table comandas add column updated_at datetime(6)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(exists(select * from information_schema.columns
+        where table_schema = database() and table_name = 'comandas' and column_name = 'subtotal'),
+    'do 0', 'alter table comandas add column subtotal double');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(exists(select * from information_schema.columns
+        where table_schema = database() and table_name = 'comandas' and column_name = 'total'),
+    'do 0', 'alter table comandas add column total double');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(exists(select * from information_schema.columns
+        where table_schema = database() and table_name = 'comanda_item' and column_name = 'product_name'),
+    'do 0', 'alter table comanda_item add column product_name varchar(255)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+
+update comanda_item i join product p on p.id = i.product_id set i.product_name = p.name
+where i.product_name is null;
+update comandas c set c.subtotal = coalesce((select sum(i.quantity * i.unit_price) from comanda_item i
+    where i.comanda_id = c.id), 0)
+where c.subtotal is null;
+update comandas set total = greatest(0, subtotal - subtotal * coalesce(discount_percent, 0) / 100
+    - coalesce(discount_amount, 0))
+where total is null;
+-- Itens de comandas abertas ficam reservados até o checkout.
+update product p set p.reserved_quantity = least(p.stock_quantity, (select coalesce(sum(i.quantity), 0)
+    from comanda_item i join comandas c on c.id = i.comanda_id
+    where c.status = 'ABERTA' and i.product_id = p.id));
+
+-- Índices criados antes das chaves estrangeiras para que as constraints os reaproveitem.
+-- Itens são sempre carregados pela comanda e consultados pelo produto.
+set @ddl = if(exists(select * from information_schema.statistics
+        where table_schema = database() and table_name = 'comanda_item' and index_name = 'idx_comanda_item_comanda'),
+    'do 0', 'create index idx_comanda_item_comanda on comanda_item (comanda_id)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(exists(select * from information_schema.statistics
+        where table_schema = database() and table_name = 'comanda_item' and index_name = 'idx_comanda_item_product'),
+    'do 0', 'create index idx_comanda_item_product on comanda_item (product_id)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+
+-- Listagens por status (cursor, varredura de comandas abandonadas) e por data de abertura.
+set @ddl = if(exists(select * from information_schema.statistics
+        where table_schema = database() and table_name = 'comandas' and index_name = 'idx_comandas_status_created'),
+    'do 0', 'create index idx_comandas_status_created on comandas (status, created_at)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(exists(select * from information_schema.statistics
+        where table_schema = database() and table_name = 'comandas' and index_name = 'idx_comandas_created'),
+    'do 0', 'create index idx_comandas_created on comandas (created_at)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(exists(select * from information_schema.statistics
+        where table_schema = database() and table_name = 'comandas' and index_name = 'idx_comandas_customer'),
+    'do 0', 'create index idx_comandas_customer on comandas (customer_id)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+
+set @ddl = if(exists(select * from information_schema.statistics
+        where table_schema = database() and table_name = 'product' and index_name = 'idx_product_category'),
+    'do 0', 'create index idx_product_category on product (category)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(exists(select * from information_schema.statistics
+        where table_schema = database() and table_name = 'customer' and index_name = 'idx_customer_email'),
+    'do 0', 'create index idx_customer_email on customer (email)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+
+-- Chaves estrangeiras que o Hibernate criou com nome gerado (e os índices que o MySQL criou para
+-- elas) dão lugar às nomeadas.
+set @ddl = if(not exists(select * from information_schema.table_constraints
+        where table_schema = database() and table_name = 'comandas' and constraint_name = 'FKk0f4m64g3pjrhachuayce7dm1'),
+    'do 0', 'alter table comandas drop foreign key FKk0f4m64g3pjrhachuayce7dm1');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(not exists(select * from information_schema.table_constraints
+        where table_schema = database() and table_name = 'comanda_item' and constraint_name = 'FK3kaaga0cdrny9tlees7gvw5fp'),
+    'do 0', 'alter table comanda_item drop foreign key FK3kaaga0cdrny9tlees7gvw5fp');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(not exists(select * from information_schema.table_constraints
+        where table_schema = database() and table_name = 'comanda_item' and constraint_name = 'FK3cwx4y4yxxlrd11y5e7vtqarf'),
+    'do 0', 'alter table comanda_item drop foreign key FK3cwx4y4yxxlrd11y5e7vtqarf');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(not exists(select * from information_schema.statistics
+        where table_schema = database() and table_name = 'comandas' and index_name = 'FKk0f4m64g3pjrhachuayce7dm1'),
+    'do 0', 'drop index FKk0f4m64g3pjrhachuayce7dm1 on comandas');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(not exists(select * from information_schema.statistics
+        where table_schema = database() and table_name = 'comanda_item' and index_name = 'FK3kaaga0cdrny9tlees7gvw5fp'),
+    'do 0', 'drop index FK3kaaga0cdrny9tlees7gvw5fp on comanda_item');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(not exists(select * from information_schema.statistics
+        where table_schema = database() and table_name = 'comanda_item' and index_name = 'FK3cwx4y4yxxlrd11y5e7vtqarf'),
+    'do 0', 'drop index FK3cwx4y4yxxlrd11y5e7vtqarf on comanda_item');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(exists(select * from information_schema.table_constraints
+        where table_schema = database() and table_name = 'comandas' and constraint_name = 'fk_comandas_customer'),
+    'do 0', 'alter table comandas add constraint fk_comandas_customer foreign key (customer_id) references customer (id)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(exists(select * from information_schema.table_constraints
+        where table_schema = database() and table_name = 'comanda_item' and constraint_name = 'fk_comanda_item_comanda'),
+    'do 0', 'alter table comanda_item add constraint fk_comanda_item_comanda foreign key (comanda_id) references comandas (id)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
+set @ddl = if(exists(select * from information_schema.table_constraints
+        where table_schema = database() and table_name = 'comanda_item' and constraint_name = 'fk_comanda_item_product'),
+    'do 0', 'alter table comanda_item add constraint fk_comanda_item_product foreign key (product_id) references product (id)');
+prepare ddl from @ddl; execute ddl; deallocate prepare ddl;
@@ -0,0 +1,11 @@
+-- O MySQL não tem sequências: o Hibernate emula cada uma numa tabela de uma linha (next_val),
+-- lida como o topo do bloco de 50 ids, como em h2/V2.
+create table product_seq (next_val bigint) engine=InnoDB;
+create table customer_seq (next_val bigint) engine=InnoDB;
+create table comandas_seq (next_val bigint) engine=InnoDB;
+create table comanda_item_seq (next_val bigint) engine=InnoDB;
+
+insert into product_seq (next_val) select coalesce(max(id), 0) + 50 from product;
+insert into customer_seq (next_val) select coalesce(max(id), 0) + 50 from customer;
+insert into comandas_seq (next_val) select coalesce(max(id), 0) + 50 from comandas;
+insert into comanda_item_seq (next_val) select coalesce(max(id), 0) + 50 from comanda_item;
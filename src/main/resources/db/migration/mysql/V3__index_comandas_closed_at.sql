@@ -0,0 +1,2 @@
+-- Exportação diária filtra as comandas encerradas pela data de fechamento.
+create index idx_comandas_closed_at on comandas (closed_at);
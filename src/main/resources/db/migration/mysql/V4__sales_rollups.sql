@@ -0,0 +1,48 @@
+-- Agregados de vendas por hora, mantidos no checkout/fechamento das comandas.
+-- Relatórios somam estes buckets em vez de varrer comandas e itens.
+create table sales_rollup_payment (
+    bucket_hour datetime(6) not null,
+    payment_method varchar(20) not null,
+    comandas bigint not null,
+    subtotal double not null,
+    discount double not null,
+    total double not null,
+    primary key (bucket_hour, payment_method)
+) engine=InnoDB;
+
+create table sales_rollup_product (
+    bucket_hour datetime(6) not null,
+    product_id bigint not null,
+    payment_method varchar(20) not null,
+    product_name varchar(255),
+    category varchar(255),
+    quantity bigint not null,
+    revenue double not null,
+    primary key (bucket_hour, product_id, payment_method)
+) engine=InnoDB;
+
+create index idx_sales_rollup_product_category on sales_rollup_product (category, bucket_hour);
+
+-- Carga inicial com as comandas já fechadas (payment_method é gravado como ordinal em comandas).
+insert into sales_rollup_payment (bucket_hour, payment_method, comandas, subtotal, discount, total)
+select bucket_hour, payment_method, count(*), sum(subtotal), sum(subtotal - total), sum(total)
+from (select cast(date_format(c.closed_at, '%Y-%m-%d %H:00:00') as datetime(6)) bucket_hour,
+             case c.payment_method when 1 then 'PIX' when 2 then 'DEBIT_CARD' when 3 then 'CREDIT_CARD'
+                  when 4 then 'FOOD_VOUCHER' when 5 then 'TRANSFER' else 'CASH' end payment_method,
+             coalesce(c.subtotal, 0) subtotal, coalesce(c.total, 0) total
+      from comandas c
+      where c.status = 'FECHADA' and c.closed_at is not null) closed
+group by bucket_hour, payment_method;
+
+insert into sales_rollup_product (bucket_hour, product_id, payment_method, product_name, category, quantity, revenue)
+select bucket_hour, product_id, payment_method, max(product_name), max(category), sum(quantity), sum(quantity * unit_price)
+from (select cast(date_format(c.closed_at, '%Y-%m-%d %H:00:00') as datetime(6)) bucket_hour, i.product_id,
+             case c.payment_method when 1 then 'PIX' when 2 then 'DEBIT_CARD' when 3 then 'CREDIT_CARD'
+                  when 4 then 'FOOD_VOUCHER' when 5 then 'TRANSFER' else 'CASH' end payment_method,
+             coalesce(i.product_name, p.name) product_name, p.category,
+             coalesce(i.quantity, 0) quantity, coalesce(i.unit_price, 0) unit_price
+      from comanda_item i
+      join comandas c on c.id = i.comanda_id
+      join product p on p.id = i.product_id
+      where c.status = 'FECHADA' and c.closed_at is not null) sold
+group by bucket_hour, product_id, payment_method;
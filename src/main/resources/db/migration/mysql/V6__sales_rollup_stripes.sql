@@ -0,0 +1,6 @@
+-- Mesmo particionamento de h2/V6: stripe = id da comanda mod N entra na chave de cada bucket.
+alter table sales_rollup_payment add column stripe smallint default 0 not null,
+    drop primary key, add primary key (bucket_hour, payment_method, stripe);
+
+alter table sales_rollup_product add column stripe smallint default 0 not null,
+    drop primary key, add primary key (bucket_hour, product_id, payment_method, stripe);
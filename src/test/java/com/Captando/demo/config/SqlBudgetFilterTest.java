@@ -0,0 +1,100 @@
+package com.Captando.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class SqlBudgetFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new SqlBudgetFilter(meterRegistry, 5, 3, Duration.ofMillis(500), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void recordsStatementsPerRouteWithinBudget() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), chainRunning("select * from comandas", 2));
+
+        DistributionSummary statements = meterRegistry.get("mercado.http.sql.statements")
+                .tag("method", "GET").tag("uri", "/comandas/{id}").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.find("mercado.http.sql.budget.exceeded").counter()).isNull();
+    }
+
+    @Test
+    void countsRequestsOverTheStatementBudget() throws Exception {
+        FilterChain chain = (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/comandas/{id}");
+            for (int i = 0; i < 6; i++) {
+                SqlStatementStats.record("select * from comanda_item where id = " + i, 1_000);
+            }
+        };
+
+        filter.doFilter(request(), new MockHttpServletResponse(), chain);
+
+        assertThat(exceeded()).isEqualTo(1);
+    }
+
+    @Test
+    void countsRepeatedStatementsAsNPlusOne() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), chainRunning("select * from product where id = ?", 4));
+
+        assertThat(exceeded()).isEqualTo(1);
+    }
+
+    @Test
+    void countsRequestsOverTheSqlTimeBudget() throws Exception {
+        FilterChain chain = (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/comandas/{id}");
+            SqlStatementStats.record("select * from comandas", Duration.ofMillis(600).toNanos());
+        };
+
+        filter.doFilter(request(), new MockHttpServletResponse(), chain);
+
+        assertThat(exceeded()).isEqualTo(1);
+    }
+
+    @Test
+    void requestScopeNestsInsideAnOuterScope() throws Exception {
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            filter.doFilter(request(), new MockHttpServletResponse(), chainRunning("select 1", 2));
+            SqlStatementStats.record("select 2", 1_000);
+
+            assertThat(stats.getStatements()).isEqualTo(3);
+        }
+        assertThat(meterRegistry.get("mercado.http.sql.statements").summary().totalAmount()).isEqualTo(2);
+    }
+
+    private double exceeded() {
+        Counter counter = meterRegistry.get("mercado.http.sql.budget.exceeded")
+                .tag("method", "GET").tag("uri", "/comandas/{id}").counter();
+        return counter.count();
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/comandas/1");
+    }
+
+    private static FilterChain chainRunning(String sql, int times) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/comandas/{id}");
+            for (int i = 0; i < times; i++) {
+                SqlStatementStats.record(sql, 1_000);
+            }
+        };
+    }
+}
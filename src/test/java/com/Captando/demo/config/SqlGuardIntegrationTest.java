@@ -0,0 +1,41 @@
+package com.Captando.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-guard-test",
+        "mercado.sql-guard.max-statements=0"
+})
+@AutoConfigureMockMvc
+class SqlGuardIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void countsTheStatementsOfARequestThroughTheDataSourceProxy() throws Exception {
+        try (SqlStatementStats sql = SqlStatementStats.start()) {
+            mockMvc.perform(get("/comandas").param("page", "0").param("size", "5"))
+                    .andExpect(status().isOk());
+
+            // banco vazio: só a página de ids (a contagem é dispensada e os itens nem são buscados)
+            SqlStatementAssertions.assertStatements(sql, 1);
+        }
+        assertThat(meterRegistry.get("mercado.http.sql.statements").tag("uri", "/comandas").summary().totalAmount())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("mercado.http.sql.budget.exceeded").tag("uri", "/comandas").counter().count())
+                .isEqualTo(1);
+    }
+}
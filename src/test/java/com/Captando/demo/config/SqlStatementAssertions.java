@@ -0,0 +1,25 @@
+package com.Captando.demo.config;
+
+/**
+ * Asserções sobre um escopo de {@link SqlStatementStats}; a mensagem de falha lista
+ * os comandos executados agrupados pelo SQL.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static void assertStatements(SqlStatementStats stats, int expected) {
+        if (stats.getStatements() != expected) {
+            throw new AssertionError("Esperados " + expected + " comandos SQL, executados " + stats.getStatements()
+                    + ":\n" + stats.describe());
+        }
+    }
+
+    public static void assertStatementsAtMost(SqlStatementStats stats, int max) {
+        if (stats.getStatements() > max) {
+            throw new AssertionError("Esperados no máximo " + max + " comandos SQL, executados "
+                    + stats.getStatements() + ":\n" + stats.describe());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.Captando.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SqlStatementStatsTest {
+
+    @Test
+    void countsStatementsInEveryOpenScope() {
+        try (SqlStatementStats outer = SqlStatementStats.start()) {
+            SqlStatementStats.record("select 1", 1_000);
+            try (SqlStatementStats inner = SqlStatementStats.start()) {
+                SqlStatementStats.record("select 2", 2_000);
+                SqlStatementStats.record("select 2", 3_000);
+                assertThat(inner.getStatements()).isEqualTo(2);
+                assertThat(inner.getMaxRepeated()).isEqualTo(2);
+            }
+            SqlStatementStats.record("select 3", 4_000);
+            assertThat(outer.getStatements()).isEqualTo(4);
+            assertThat(outer.getSqlTime(TimeUnit.NANOSECONDS)).isEqualTo(10_000);
+        }
+    }
+
+    @Test
+    void nothingIsCountedOutsideAScope() {
+        SqlStatementStats.record("select 1", 1_000);
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            assertThat(stats.getStatements()).isZero();
+        }
+    }
+
+    @Test
+    void keepsAtMostOneHundredDistinctStatementsButCountsThemAll() {
+        int distinct = SqlStatementStats.MAX_DISTINCT_STATEMENTS + 50;
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            for (int i = 0; i < distinct; i++) {
+                SqlStatementStats.record("select * from product where id = " + i, 1_000);
+            }
+            // Um SQL já conhecido continua somando mesmo depois do limite.
+            SqlStatementStats.record("select * from product where id = 0", 1_000);
+
+            assertThat(stats.getStatements()).isEqualTo(distinct + 1);
+            assertThat(stats.getMaxRepeated()).isEqualTo(2);
+            String description = stats.describe();
+            assertThat(description.lines().filter(line -> line.contains("select")))
+                    .hasSize(SqlStatementStats.MAX_DISTINCT_STATEMENTS);
+            assertThat(description).contains("where id = 0\n")
+                    .doesNotContain("where id = " + (distinct - 1) + "\n")
+                    .contains("mais de " + SqlStatementStats.MAX_DISTINCT_STATEMENTS + " SQL distintos");
+        }
+    }
+
+    @Test
+    void assertionsReportTheExecutedStatements() {
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            SqlStatementStats.record("select * from comandas", 1_000);
+            SqlStatementStats.record("select * from comanda_item", 1_000);
+
+            SqlStatementAssertions.assertStatements(stats, 2);
+            SqlStatementAssertions.assertStatementsAtMost(stats, 3);
+            assertThatThrownBy(() -> SqlStatementAssertions.assertStatementsAtMost(stats, 1))
+                    .isInstanceOf(AssertionError.class)
+                    .hasMessageContaining("1x")
+                    .hasMessageContaining("select * from comanda_item");
+        }
+    }
+}
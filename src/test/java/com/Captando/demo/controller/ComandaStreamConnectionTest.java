@@ -0,0 +1,83 @@
+package com.Captando.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.Captando.demo.dto.CreateComandaRequest;
+import com.Captando.demo.service.ComandaService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/**
+ * Streams abertos não podem segurar conexões do pool: com mais inscritos do que
+ * conexões, uma leitura comum ainda precisa ser atendida na hora.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:comanda-stream-connection-test",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=2000",
+        "mercado.comanda-stream.max-subscribers=4",
+        "management.server.port=0"
+})
+class ComandaStreamConnectionTest {
+
+    private static final int STREAMS = 4;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ComandaService comandaService;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<Stream<String>> streams = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        streams.forEach(Stream::close);
+    }
+
+    @Test
+    void openStreamsDoNotHoldDatabaseConnectionsAndAreCapped() throws Exception {
+        Long id = comandaService.create(new CreateComandaRequest("Mesa 1", null)).getId();
+
+        for (int i = 0; i < STREAMS; i++) {
+            HttpResponse<Stream<String>> response = client
+                    .sendAsync(request("/comandas/" + id + "/stream"), HttpResponse.BodyHandlers.ofLines())
+                    .get(10, TimeUnit.SECONDS);
+            assertThat(response.statusCode()).isEqualTo(200);
+            streams.add(response.body());
+            Iterator<String> lines = response.body().iterator();
+            assertThat(lines.next()).startsWith("id:");
+            assertThat(lines.next()).isEqualTo("event:SNAPSHOT");
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<String> comanda = client.send(request("/comandas/" + id), HttpResponse.BodyHandlers.ofString());
+        assertThat(comanda.statusCode()).isEqualTo(200);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+
+        // acima de mercado.comanda-stream.max-subscribers a inscrição é recusada
+        HttpResponse<String> rejected = client.send(request("/comandas/stream"), HttpResponse.BodyHandlers.ofString());
+        assertThat(rejected.statusCode()).isEqualTo(503);
+        assertThat(rejected.body()).contains("SERVER_BUSY");
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.Captando.demo.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cursor-page-size-test")
+@AutoConfigureMockMvc
+class CursorPageSizeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @ParameterizedTest
+    @CsvSource({
+            "/products, 0", "/products, -1", "/products, 501",
+            "/clients, 0", "/clients, -1",
+            "/comandas, 0", "/comandas, -1"
+    })
+    void rejectsSizeOutsideTheAllowedRange(String path, int size) throws Exception {
+        mockMvc.perform(get(path).param("after", "").param("size", String.valueOf(size)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("BAD_REQUEST"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"/products", "/clients", "/comandas"})
+    void acceptsSizeWithinTheAllowedRange(String path) throws Exception {
+        mockMvc.perform(get(path).param("after", "").param("size", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+}
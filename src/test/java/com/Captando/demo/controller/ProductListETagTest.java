@@ -0,0 +1,68 @@
+package com.Captando.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.Captando.demo.config.SqlStatementStats;
+import com.Captando.demo.dto.ProductRequest;
+import com.Captando.demo.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Com {@code If-None-Match} a listagem compara ids e versões da página antes de
+ * carregar os produtos: o 304 não lê as entidades.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:product-list-etag-test")
+@AutoConfigureMockMvc
+class ProductListETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    private static Long arrozId;
+
+    @BeforeEach
+    void seed() {
+        if (arrozId != null) {
+            return;
+        }
+        arrozId = productService.create(new ProductRequest("Arroz", "pacote 5kg", 25.0, "Mercearia", 10, true)).getId();
+        productService.create(new ProductRequest("Arroz integral", "pacote 1kg", 9.0, "Mercearia", 10, true));
+        productService.create(new ProductRequest("Café", "torrado", 18.0, "Mercearia", 10, true));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "arroz"})
+    void matchingListETagIsAnsweredWithoutLoadingProducts(String name) throws Exception {
+        String etag = mockMvc.perform(get("/products").param("name", name))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            mockMvc.perform(get("/products").param("name", name).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+            // página de ids e versões (mais a contagem, fora do índice), sem as colunas do produto
+            assertThat(stats.getStatements()).isBetween(1, 2);
+            assertThat(stats.describe()).doesNotContain("description");
+        }
+
+        productService.adjustStock(arrozId, 1, null);
+        mockMvc.perform(get("/products").param("name", name).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag));
+    }
+}
@@ -0,0 +1,109 @@
+package com.Captando.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.Captando.demo.dto.ComandaCheckoutRequest;
+import com.Captando.demo.dto.ComandaResponse;
+import com.Captando.demo.dto.ProductRequest;
+import com.Captando.demo.dto.SalesBucketResponse;
+import com.Captando.demo.model.PaymentMethod;
+import com.Captando.demo.service.ComandaService;
+import com.Captando.demo.service.ProductService;
+import com.Captando.demo.service.SalesReportService;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.h2.tools.RunScript;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Banco criado pelo antigo ddl-auto=update, com dados, antes de a aplicação subir:
+ * o Flyway registra a versão 0 e as migrações completam o esquema sem perder nada.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + LegacySchemaMigrationTest.URL,
+        // a comanda aberta do script é antiga; não pode ser cancelada por abandono ao subir
+        "mercado.reservation.timeout=P3650D"
+})
+class LegacySchemaMigrationTest {
+
+    static final String URL = "jdbc:h2:mem:legacy-schema-migration-test;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ComandaService comandaService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @BeforeAll
+    static void createLegacySchema() throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             InputStreamReader script = new InputStreamReader(
+                     LegacySchemaMigrationTest.class.getResourceAsStream("/db/legacy/h2-ddl-auto-schema.sql"),
+                     StandardCharsets.UTF_8)) {
+            RunScript.execute(connection, script);
+        }
+    }
+
+    @Test
+    void existingSchemaIsBaselinedAndMigrated() {
+        List<Map<String, Object>> history = jdbcTemplate.queryForList(
+                "select \"version\", \"type\", \"success\" from \"flyway_schema_history\" "
+                        + "where \"version\" is not null order by \"installed_rank\"");
+        assertThat(history).extracting(row -> row.get("version"), row -> row.get("type"))
+                .startsWith(tuple("0", "BASELINE"), tuple("1", "SQL"));
+        assertThat(history).allSatisfy(row -> assertThat(row.get("success")).isEqualTo(Boolean.TRUE));
+
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+                "select lower(constraint_name) from information_schema.table_constraints "
+                        + "where constraint_type = 'FOREIGN KEY' order by 1", String.class);
+        assertThat(foreignKeys).containsExactly("fk_comanda_item_comanda", "fk_comanda_item_product",
+                "fk_comandas_customer");
+    }
+
+    @Test
+    void legacyComandasGetTheirTotalsAndRollups() {
+        ComandaResponse closed = comandaService.findById(1L);
+        assertThat(closed.getSubtotal()).isEqualTo(68.0);
+        assertThat(closed.getTotal()).isEqualTo(61.2);
+        assertThat(closed.getItems()).extracting("productName").containsExactly("Arroz", "Café");
+
+        List<SalesBucketResponse> byPayment = salesReportService.byPaymentMethod(
+                LocalDate.of(2026, 1, 10), LocalDate.of(2026, 1, 10));
+        assertThat(byPayment).extracting(SalesBucketResponse::getBucket, SalesBucketResponse::getTotal)
+                .containsExactly(tuple(PaymentMethod.PIX.name(), 61.2));
+    }
+
+    @Test
+    void openLegacyComandaKeepsItsReservationAndChecksOut() {
+        assertThat(reservedQuantity(2L)).isEqualTo(3);
+
+        comandaService.checkout(2L, new ComandaCheckoutRequest(PaymentMethod.CASH), null);
+
+        assertThat(reservedQuantity(2L)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select stock_quantity from product where id = 2", Integer.class))
+                .isEqualTo(7);
+        Long created = productService.create(new ProductRequest("Sal", null, 3.0, "Mercearia", 5, true)).getId();
+        assertThat(created).isGreaterThan(2L);
+    }
+
+    private int reservedQuantity(Long productId) {
+        return jdbcTemplate.queryForObject("select reserved_quantity from product where id = ?", Integer.class,
+                productId);
+    }
+}
@@ -0,0 +1,89 @@
+package com.Captando.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.Captando.demo.dto.ProductSalesResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Duas transações criando o mesmo bucket: a segunda espera o lock da linha ainda não
+ * confirmada, recebe chave duplicada quando a primeira faz commit e precisa repetir
+ * o upsert somando na linha que já existe.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sales-rollup-repository-test")
+class SalesRollupRepositoryTest {
+
+    @Autowired
+    private SalesRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentFirstPaymentInsertIsRetriedAsAnIncrement() throws Exception {
+        LocalDateTime bucket = LocalDateTime.of(2026, 1, 10, 12, 0);
+
+        raceFirstInsert(() -> rollupRepository.addPayment(bucket, "PIX", 0, 1, 10.0, 0.0, 10.0));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select count(*) rows_count, sum(comandas) comandas, sum(total) total from sales_rollup_payment "
+                        + "where bucket_hour = ? and payment_method = 'PIX'", bucket);
+        assertThat(((Number) row.get("rows_count")).intValue()).isEqualTo(1);
+        assertThat(((Number) row.get("comandas")).longValue()).isEqualTo(2);
+        assertThat(((Number) row.get("total")).doubleValue()).isEqualTo(20.0);
+    }
+
+    @Test
+    void concurrentFirstProductInsertRetriesOnlyTheFailedRowsOfTheBatch() throws Exception {
+        LocalDateTime bucket = LocalDateTime.of(2026, 1, 10, 13, 0);
+        // o produto 2 já existe confirmado; só o 1 disputa a criação
+        rollupRepository.addProducts(bucket, "CASH", 0, List.of(new ProductSalesResponse(2L, "Café", "Bebidas", 1, 18.0)));
+        List<ProductSalesResponse> sold = List.of(
+                new ProductSalesResponse(1L, "Arroz", "Mercearia", 3, 75.0),
+                new ProductSalesResponse(2L, "Café", "Bebidas", 1, 18.0));
+
+        raceFirstInsert(() -> rollupRepository.addProducts(bucket, "CASH", 0, sold));
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select product_id, quantity, revenue from sales_rollup_product where bucket_hour = ? order by product_id",
+                bucket);
+        assertThat(rows).hasSize(2);
+        assertThat(((Number) rows.get(0).get("quantity")).longValue()).isEqualTo(6);
+        assertThat(((Number) rows.get(0).get("revenue")).doubleValue()).isEqualTo(150.0);
+        assertThat(((Number) rows.get(1).get("quantity")).longValue()).isEqualTo(3);
+    }
+
+    private void raceFirstInsert(Runnable upsert) throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            upsert.run();
+            inserted.countDown();
+            sleep(500);
+        }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+        // bloqueia no lock da linha criada pela primeira transação até ela fazer commit
+        transactionTemplate.executeWithoutResult(status -> upsert.run());
+        first.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
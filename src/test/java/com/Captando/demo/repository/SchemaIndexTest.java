@@ -0,0 +1,37 @@
+package com.Captando.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Confere no plano do H2 que as consultas de comandas, itens, produtos e clientes
+ * usam os índices criados pelas migrações, e não uma varredura da tabela.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:schema-index-test")
+class SchemaIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "select * from comanda_item where comanda_id = 1 | IDX_COMANDA_ITEM_COMANDA",
+            "select count(*) from comanda_item where product_id = 1 | IDX_COMANDA_ITEM_PRODUCT",
+            "select id from comandas where status = 'ABERTA' and created_at < timestamp '2026-01-01 00:00:00' "
+                    + "| IDX_COMANDAS_STATUS_CREATED",
+            "select id, total from comandas where closed_at >= timestamp '2026-01-01 00:00:00' "
+                    + "and closed_at < timestamp '2026-01-02 00:00:00' | IDX_COMANDAS_CLOSED_AT",
+            "select id from product where category = 'Mercearia' | IDX_PRODUCT_CATEGORY",
+            "select id from customer where email = 'cliente@mercado.test' | IDX_CUSTOMER_EMAIL"
+    })
+    void lookupUsesIndex(String query, String index) {
+        String plan = jdbcTemplate.queryForObject("explain " + query, String.class);
+
+        assertThat(plan).contains(index);
+    }
+}
@@ -0,0 +1,91 @@
+package com.Captando.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.Captando.demo.dto.AddComandaItemRequest;
+import com.Captando.demo.dto.ComandaResponse;
+import com.Captando.demo.dto.CreateComandaRequest;
+import com.Captando.demo.dto.CustomerRequest;
+import com.Captando.demo.dto.ProductRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:comanda-listing-test",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+class ComandaListingStatementsTest {
+
+    private static final int COMANDAS = 12;
+
+    @Autowired
+    private ComandaService comandaService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (comandaService.findSummaries(PageRequest.of(0, 1)).getTotalElements() >= COMANDAS) {
+            return;
+        }
+        Long arroz = productService.create(new ProductRequest("Arroz", null, 25.0, "Mercearia", 1000, true)).getId();
+        Long cafe = productService.create(new ProductRequest("Café", null, 18.0, "Mercearia", 1000, true)).getId();
+        for (int i = 0; i < COMANDAS; i++) {
+            Long customerId = customerService.create(
+                    new CustomerRequest("Cliente " + i, "cliente" + i + "@mercado.test", null)).getId();
+            Long comandaId = comandaService.create(new CreateComandaRequest("Mesa " + i, customerId)).getId();
+            comandaService.addItem(comandaId, new AddComandaItemRequest(arroz, 1));
+            comandaService.addItem(comandaId, new AddComandaItemRequest(cafe, 2));
+        }
+    }
+
+    @Test
+    void listingIssuesTheSameStatementsWhateverThePageSize() {
+        long small = statementsFor(PageRequest.of(0, 2, Sort.by("id")));
+        long large = statementsFor(PageRequest.of(0, 10, Sort.by("id")));
+
+        // Página de ids, contagem e uma única consulta com comandas, clientes, itens e produtos.
+        assertThat(small).isLessThanOrEqualTo(3);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void listingLoadsItemsAndCustomersWithoutLazyFetches() {
+        statistics.clear();
+        Page<ComandaResponse> page = comandaService.findAll(PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(page.getContent()).hasSize(10)
+                .allSatisfy(comanda -> {
+                    assertThat(comanda.getCustomerId()).isNotNull();
+                    assertThat(comanda.getItems()).hasSize(2);
+                });
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    private long statementsFor(PageRequest pageable) {
+        statistics.clear();
+        Page<ComandaResponse> page = comandaService.findAll(pageable);
+        assertThat(page.getContent()).hasSize(pageable.getPageSize());
+        return statistics.getPrepareStatementCount();
+    }
+}
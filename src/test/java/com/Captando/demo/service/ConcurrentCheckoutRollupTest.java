@@ -0,0 +1,102 @@
+package com.Captando.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.Captando.demo.dto.AddComandaItemRequest;
+import com.Captando.demo.dto.ComandaCheckoutRequest;
+import com.Captando.demo.dto.CreateComandaRequest;
+import com.Captando.demo.dto.ProductRequest;
+import com.Captando.demo.dto.ProductSalesResponse;
+import com.Captando.demo.dto.SalesBucketResponse;
+import com.Captando.demo.model.PaymentMethod;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Checkouts simultâneos na mesma hora caem na mesma linha de agregado (uma só
+ * stripe aqui): quem perde a corrida pela criação do bucket precisa repetir o
+ * upsert, e nenhum checkout pode falhar nem se perder nos totais.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrent-checkout-rollup-test",
+        "mercado.reports.rollup-stripes=1"
+})
+class ConcurrentCheckoutRollupTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private ComandaService comandaService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Test
+    void concurrentCheckoutsAreAllCountedInTheRollups() throws Exception {
+        Long arroz = productService.create(new ProductRequest("Arroz", null, 25.0, "Mercearia", 1000, true)).getId();
+        Long cafe = productService.create(new ProductRequest("Café", null, 18.0, "Mercearia", 1000, true)).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                // cada rodada usa outra forma de pagamento, então todas começam criando um bucket novo
+                PaymentMethod paymentMethod = PaymentMethod.values()[round];
+                List<Long> comandas = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    Long id = comandaService.create(new CreateComandaRequest("Mesa " + i, null)).getId();
+                    comandaService.addItem(id, new AddComandaItemRequest(arroz, 1));
+                    comandaService.addItem(id, new AddComandaItemRequest(cafe, 2));
+                    comandas.add(id);
+                }
+                checkoutAll(executor, comandas, paymentMethod);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LocalDate today = LocalDate.now();
+        List<SalesBucketResponse> byPayment = salesReportService.byPaymentMethod(today.minusDays(1), today.plusDays(1));
+        assertThat(byPayment).hasSize(ROUNDS)
+                .allSatisfy(bucket -> {
+                    assertThat(bucket.getComandas()).isEqualTo(THREADS);
+                    assertThat(bucket.getTotal()).isEqualTo(THREADS * 61.0);
+                });
+
+        List<ProductSalesResponse> products = salesReportService.topProducts(today.minusDays(1), today.plusDays(1),
+                null, null, false, 10);
+        assertThat(products).extracting(ProductSalesResponse::getProductId, ProductSalesResponse::getQuantity)
+                .containsExactly(
+                        tuple(cafe, 2L * THREADS * ROUNDS),
+                        tuple(arroz, (long) THREADS * ROUNDS));
+    }
+
+    private void checkoutAll(ExecutorService executor, List<Long> comandas, PaymentMethod paymentMethod)
+            throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long id : comandas) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return comandaService.checkout(id, new ComandaCheckoutRequest(paymentMethod), null);
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            // get() propaga a falha de qualquer checkout (chave duplicada, deadlock...)
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+}
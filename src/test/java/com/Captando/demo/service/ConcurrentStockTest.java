@@ -0,0 +1,217 @@
+package com.Captando.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.Captando.demo.dto.AddComandaItemRequest;
+import com.Captando.demo.dto.CreateComandaRequest;
+import com.Captando.demo.dto.ProductRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Várias threads disputando o mesmo SKU: nenhuma unidade pode ser vendida ou
+ * reservada duas vezes, nem uma operação bem-sucedida pode se perder.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:concurrent-stock-test")
+class ConcurrentStockTest {
+
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final int STOCK = 60;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ComandaService comandaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        productId = productService.create(new ProductRequest("Feijão", null, 9.5, "Mercearia", STOCK, true)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentReservationsNeverExceedStockAndNoneIsLost() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        hammer(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> stockReservationService.reserve(productId, 1));
+                reserved.incrementAndGet();
+            } catch (InsufficientStockException ex) {
+                rejected.incrementAndGet();
+            }
+            return null;
+        });
+
+        Map<String, Object> row = stockRow();
+        assertThat(reserved.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD - STOCK);
+        assertThat(((Number) row.get("reserved_quantity")).intValue()).isEqualTo(reserved.get());
+        assertThat(((Number) row.get("stock_quantity")).intValue()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void concurrentReserveAndReleaseKeepTheReservedCountExact() throws Exception {
+        AtomicInteger balance = new AtomicInteger();
+
+        hammer(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> stockReservationService.reserve(productId, 3));
+                transactionTemplate.executeWithoutResult(status -> stockReservationService.release(productId, 1));
+                balance.addAndGet(2);
+            } catch (InsufficientStockException ex) {
+                // estoque esgotado: nada foi reservado nesta tentativa
+            }
+            return null;
+        });
+
+        Map<String, Object> row = stockRow();
+        int reservedQuantity = ((Number) row.get("reserved_quantity")).intValue();
+        assertThat(reservedQuantity).isEqualTo(balance.get());
+        assertThat(reservedQuantity).isLessThanOrEqualTo(((Number) row.get("stock_quantity")).intValue());
+    }
+
+    @Test
+    void concurrentStockAdjustmentsNeverGoBelowZero() throws Exception {
+        AtomicInteger sold = new AtomicInteger();
+
+        hammer(() -> {
+            try {
+                productService.adjustStock(productId, -1, null);
+                sold.incrementAndGet();
+            } catch (InsufficientStockException ex) {
+                // sem estoque para esta venda
+            }
+            return null;
+        });
+
+        Map<String, Object> row = stockRow();
+        assertThat(sold.get()).isEqualTo(STOCK);
+        assertThat(((Number) row.get("stock_quantity")).intValue()).isZero();
+        assertThat(((Number) row.get("version")).longValue()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void stockUpdatesRacingWithReservationsNeverDropBelowTheReservedQuantity() throws Exception {
+        AtomicInteger updates = new AtomicInteger();
+
+        hammer(() -> {
+            // uma thread regrava o estoque enquanto as outras reservam
+            if (Thread.currentThread().getName().endsWith("-1")) {
+                int stock = updates.incrementAndGet() % 2 == 0 ? STOCK : STOCK / 4;
+                try {
+                    productService.update(productId,
+                            new ProductRequest("Feijão", null, 9.5, "Mercearia", stock, true), null);
+                } catch (InsufficientStockException ex) {
+                    // já há mais reservado do que o novo estoque
+                }
+            } else {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> stockReservationService.reserve(productId, 1));
+                } catch (InsufficientStockException ex) {
+                    // sem saldo disponível agora
+                }
+            }
+            Map<String, Object> row = stockRow();
+            assertThat(((Number) row.get("reserved_quantity")).intValue())
+                    .isLessThanOrEqualTo(((Number) row.get("stock_quantity")).intValue());
+            return null;
+        });
+    }
+
+    @Test
+    void stockUpdateBelowTheReservedQuantityIsRejected() {
+        transactionTemplate.executeWithoutResult(status -> stockReservationService.reserve(productId, 10));
+
+        assertThatThrownBy(() -> productService.update(productId,
+                        new ProductRequest("Feijão", null, 9.5, "Mercearia", 9, true), null))
+                .isInstanceOf(InsufficientStockException.class);
+        assertThat(((Number) stockRow().get("stock_quantity")).intValue()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void batchAddsListingProductsInOppositeOrderDoNotDeadlock() throws Exception {
+        Long other = productService.create(new ProductRequest("Arroz", null, 25.0, "Mercearia", STOCK, true)).getId();
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+
+        hammer(() -> {
+            // metade das chamadas pede feijão e arroz, a outra metade arroz e feijão
+            boolean reversed = calls.incrementAndGet() % 2 == 0;
+            List<AddComandaItemRequest> items = reversed
+                    ? List.of(new AddComandaItemRequest(other, 1), new AddComandaItemRequest(productId, 1))
+                    : List.of(new AddComandaItemRequest(productId, 1), new AddComandaItemRequest(other, 1));
+            Long comandaId = comandaService.create(new CreateComandaRequest("Mesa", null)).getId();
+            try {
+                comandaService.addItems(comandaId, items);
+                added.incrementAndGet();
+            } catch (InsufficientStockException ex) {
+                // estoque esgotado: a transação inteira foi desfeita
+            }
+            return null;
+        });
+
+        assertThat(added.get()).isEqualTo(STOCK);
+        assertThat(((Number) stockRow().get("reserved_quantity")).intValue()).isEqualTo(STOCK);
+    }
+
+    private void hammer(Callable<Void> attempt) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    attempt.call();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            // get() propaga qualquer erro inesperado (deadlock, timeout de lock...)
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private Map<String, Object> stockRow() {
+        return jdbcTemplate.queryForMap(
+                "select stock_quantity, reserved_quantity, version from product where id = ?", productId);
+    }
+}
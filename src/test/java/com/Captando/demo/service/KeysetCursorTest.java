@@ -0,0 +1,35 @@
+package com.Captando.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.Captando.demo.model.Product;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+class KeysetCursorTest {
+
+    @Test
+    void sizeMustBePositiveAndBounded() {
+        assertThat(KeysetCursor.size(1)).isEqualTo(1);
+        assertThat(KeysetCursor.size(KeysetCursor.MAX_SIZE)).isEqualTo(KeysetCursor.MAX_SIZE);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> KeysetCursor.size(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> KeysetCursor.size(-1));
+        assertThatIllegalArgumentException().isThrownBy(() -> KeysetCursor.size(KeysetCursor.MAX_SIZE + 1));
+    }
+
+    @Test
+    void decodesWhatItEncodes() {
+        Sort sort = KeysetCursor.sort(Sort.Order.asc("name"), Set.of("id", "name", "price"));
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(Map.of("name", "Café & Cia", "id", 42L)));
+
+        KeysetScrollPosition position = (KeysetScrollPosition) KeysetCursor.decode(cursor, Product.class, sort);
+
+        assertThat(position.getKeys()).containsEntry("name", "Café & Cia").containsEntry("id", 42L);
+    }
+}
@@ -0,0 +1,94 @@
+package com.Captando.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.Captando.demo.dto.ProductSuggestionResponse;
+import com.Captando.demo.model.Product;
+import com.Captando.demo.repository.ProductRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Fora de transação o índice é atualizado na hora, sem precisar do repositório.
+        index = new ProductSearchIndex(null);
+        add(1L, "Café Pilão Tradicional", "Bebidas", "torrado e moído", 18.0, true);
+        add(2L, "Pão de Queijo", "Padaria", "ótimo com café", 12.0, true);
+        add(3L, "Filtro de papel", "Cafeteria", "para coar", 6.0, true);
+        add(4L, "Cafeteira elétrica", "Utilidades", null, 150.0, false);
+    }
+
+    @Test
+    void nameMatchesOnlyTheProductName() {
+        assertThat(index.search("cafe", null, null, null, null, null, Sort.unsorted()))
+                .containsExactly(1L, 4L);
+    }
+
+    @Test
+    void nameMatchesTheWholeTextLikeTheDatabaseFilter() {
+        assertThat(index.search("pao de queijo", null, null, null, null, null, Sort.unsorted())).containsExactly(2L);
+        assertThat(index.search("pao queijo", null, null, null, null, null, Sort.unsorted())).isEmpty();
+    }
+
+    @Test
+    void freeTextMatchesNameCategoryAndDescription() {
+        assertThat(index.search(null, "cafe", null, null, null, null, Sort.unsorted()))
+                .containsExactly(1L, 4L, 3L, 2L);
+        assertThat(index.search(null, "queijo cafe", null, null, null, null, Sort.unsorted()))
+                .containsExactly(2L);
+    }
+
+    @Test
+    void nameAndFreeTextCombineWithTheOtherFilters() {
+        assertThat(index.search("cafe", "torrado", null, null, null, null, Sort.unsorted())).containsExactly(1L);
+        assertThat(index.search("cafe", null, null, null, null, Boolean.TRUE, Sort.unsorted())).containsExactly(1L);
+        assertThat(index.search(null, "cafe", "padaria", null, 20.0, null, Sort.unsorted())).containsExactly(2L);
+    }
+
+    @Test
+    void changesCommittedDuringTheRebuildScanAreNotLost() {
+        ProductRepository repository = mock(ProductRepository.class);
+        ProductSearchIndex rebuilt = new ProductSearchIndex(repository);
+        when(repository.findBy(any(Specification.class), any())).thenAnswer(invocation -> {
+            // commits que chegam enquanto a leitura ainda devolve o estado anterior
+            rebuilt.indexAfterCommit(product(1L, "Café Especial", "Bebidas", null, 25.0, true));
+            rebuilt.indexAfterCommit(product(5L, "Cafeteira italiana", "Utilidades", null, 90.0, true));
+            rebuilt.removeAfterCommit(2L);
+            return Window.from(List.of(
+                    product(1L, "Café Pilão Tradicional", "Bebidas", null, 18.0, true),
+                    product(2L, "Pão de Queijo", "Padaria", null, 12.0, true)), ScrollPosition::offset, false);
+        });
+
+        rebuilt.rebuild();
+
+        assertThat(rebuilt.search("especial", null, null, null, null, null, Sort.unsorted())).containsExactly(1L);
+        assertThat(rebuilt.search("pilao", null, null, null, null, null, Sort.unsorted())).isEmpty();
+        assertThat(rebuilt.search("queijo", null, null, null, null, null, Sort.unsorted())).isEmpty();
+        assertThat(rebuilt.suggest("cafe", 10)).extracting(ProductSuggestionResponse::getId)
+                .containsExactly(1L, 5L);
+    }
+
+    private void add(Long id, String name, String category, String description, double price, boolean active) {
+        index.indexAfterCommit(product(id, name, category, description, price, active));
+    }
+
+    private static Product product(Long id, String name, String category, String description, double price,
+                                   boolean active) {
+        Product product = new Product(id, name, description, price);
+        product.setCategory(category);
+        product.setActive(active);
+        return product;
+    }
+}
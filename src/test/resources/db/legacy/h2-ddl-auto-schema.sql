@@ -0,0 +1,58 @@
+-- Esquema que o ddl-auto=update do Hibernate criava no H2 a partir das entidades originais
+-- (antes do Flyway), com alguns dados: uma comanda fechada e uma aberta.
+create table comanda_item (
+    id bigint generated by default as identity (start with 1 restart with 4) not null,
+    quantity integer,
+    unit_price float(53),
+    comanda_id bigint,
+    product_id bigint not null,
+    primary key (id)
+);
+
+create table comandas (
+    id bigint generated by default as identity (start with 1 restart with 3) not null,
+    closed_at timestamp(6),
+    created_at timestamp(6),
+    customer_name varchar(255),
+    discount_amount float(53),
+    discount_percent float(53),
+    payment_method tinyint check (payment_method between 0 and 5),
+    status enum ('ABERTA', 'CANCELADA', 'FECHADA'),
+    customer_id bigint,
+    primary key (id)
+);
+
+create table customer (
+    id bigint generated by default as identity (start with 1 restart with 2) not null,
+    email varchar(255),
+    name varchar(255),
+    phone varchar(255),
+    primary key (id)
+);
+
+create table product (
+    id bigint generated by default as identity (start with 1 restart with 3) not null,
+    active boolean not null,
+    category varchar(255),
+    description varchar(255),
+    name varchar(255),
+    price float(53) not null,
+    stock_quantity integer not null,
+    primary key (id)
+);
+
+alter table comandas add constraint FKk0f4m64g3pjrhachuayce7dm1 foreign key (customer_id) references customer (id);
+alter table comanda_item add constraint FK3cwx4y4yxxlrd11y5e7vtqarf foreign key (product_id) references product (id);
+alter table comanda_item add constraint FK3kaaga0cdrny9tlees7gvw5fp foreign key (comanda_id) references comandas (id);
+
+insert into customer values (1, 'ana@mercado.test', 'Ana', '1');
+insert into product values
+    (1, true, 'Mercearia', null, 'Arroz', 25.0, 100),
+    (2, true, 'Bebidas', null, 'Café', 18.0, 10);
+insert into comandas values
+    (1, timestamp '2026-01-10 12:30:00', timestamp '2026-01-10 12:00:00', 'Ana', 0.0, 10.0, 1, 'FECHADA', 1),
+    (2, null, timestamp '2026-01-10 13:00:00', 'Bia', 0.0, 0.0, null, 'ABERTA', null);
+insert into comanda_item values
+    (1, 2, 25.0, 1, 1),
+    (2, 1, 18.0, 1, 2),
+    (3, 3, 18.0, 2, 2);